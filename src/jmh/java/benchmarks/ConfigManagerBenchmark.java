@@ -0,0 +1,43 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ConfigManager;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigManagerBenchmark {
+
+    @Benchmark
+    public String getProperty() {
+        return ConfigManager.getProperty("login.url");
+    }
+
+    @Benchmark
+    public String getNestedUserProperty() {
+        return ConfigManager.getNestedProperty("user", "testUser", "username");
+    }
+
+    @Benchmark
+    public String getNestedCardProperty() {
+        return ConfigManager.getNestedProperty("card", "default", "number");
+    }
+
+    @Benchmark
+    public Object getCard() {
+        return ConfigManager.getCard("default");
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import log.CustomLayout;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomLayoutBenchmark {
+
+    @Param({"true", "false"})
+    public boolean locationInfo;
+
+    private CustomLayout layout;
+    private LogEvent event;
+    private final DiscardingDestination destination = new DiscardingDestination();
+
+    @Setup
+    public void setUp() {
+        layout = CustomLayout.createLayout(locationInfo);
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName("steps.main.MainSteps")
+                .setLevel(Level.INFO)
+                .setMessage(new ParameterizedMessage("Clicked element located by: {}", "By.xpath: //div[text()='Add money']//parent::div"))
+                .setSource(new StackTraceElement("steps.main.MainSteps", "clickElement", "MainSteps.java", 62))
+                .setThreadName("main")
+                .setTimeMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    @Benchmark
+    public String toSerializable() {
+        return layout.toSerializable(event);
+    }
+
+    @Benchmark
+    public ByteBufferDestination encode() {
+        layout.encode(event, destination);
+        return destination;
+    }
+
+    private static final class DiscardingDestination implements ByteBufferDestination {
+        private final ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+
+        @Override
+        public ByteBuffer getByteBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public ByteBuffer drain(ByteBuffer buf) {
+            buf.clear();
+            return buf;
+        }
+
+        @Override
+        public void writeBytes(ByteBuffer data) {
+            data.position(data.limit());
+        }
+
+        @Override
+        public void writeBytes(byte[] data, int offset, int length) {
+        }
+    }
+}
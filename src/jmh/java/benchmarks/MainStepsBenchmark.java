@@ -0,0 +1,42 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import steps.main.MainSteps;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MainStepsBenchmark {
+
+    private MainSteps mainSteps;
+
+    @Setup
+    public void setUp() {
+        mainSteps = new MainSteps(StubWebDriver.create());
+    }
+
+    @Benchmark
+    public By getLocator() {
+        return mainSteps.getLocator("AddMoneyPage", "CARD_NUMBER_FIELD");
+    }
+
+    @Benchmark
+    public void clickResolvedLocator() {
+        mainSteps.clickElement(mainSteps.getLocator("TransferMoneyPage", "SEND_BUTTON"));
+    }
+}
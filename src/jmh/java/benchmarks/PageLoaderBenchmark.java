@@ -0,0 +1,34 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import pages.main.PageLoader;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageLoaderBenchmark {
+
+    @Param({"LoginPage:USERNAME_FIELD", "AddMoneyPage:CARD_NUMBER_FIELD", "TransferMoneyPage:TOTAL_AMOUNT", "LogoutPage:LOGOUT_BUTTON"})
+    public String locator;
+
+    @Benchmark
+    public By getLocator() {
+        int separator = locator.indexOf(':');
+        return PageLoader.getLocator(locator.substring(0, separator), locator.substring(separator + 1));
+    }
+}
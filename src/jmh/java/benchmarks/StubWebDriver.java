@@ -0,0 +1,56 @@
+package benchmarks;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * In-memory WebDriver whose every element is present, visible and enabled, so
+ * benchmarks measure the framework's own overhead instead of the browser.
+ */
+final class StubWebDriver {
+
+    private StubWebDriver() {
+    }
+
+    static WebDriver create() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(
+                StubWebDriver.class.getClassLoader(),
+                new Class<?>[]{WebElement.class},
+                handler("StubWebElement", null));
+        return (WebDriver) Proxy.newProxyInstance(
+                StubWebDriver.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class},
+                handler("StubWebDriver", element));
+    }
+
+    private static InvocationHandler handler(String name, WebElement element) {
+        return (proxy, method, args) -> switch (method.getName()) {
+            case "findElement", "executeAsyncScript" -> element;
+            case "findElements" -> List.of(element);
+            case "isDisplayed", "isEnabled" -> true;
+            case "getText", "getAttribute", "getDomAttribute", "getDomProperty" -> "100";
+            case "getCurrentUrl" -> "http://localhost/transfer";
+            case "toString" -> name;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> defaultValue(method);
+        };
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type.isPrimitive() && type != void.class) {
+            return 0;
+        }
+        return null;
+    }
+}
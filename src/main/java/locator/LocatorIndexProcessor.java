@@ -0,0 +1,151 @@
+package locator;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code LocatorIndex}, a switch-based lookup of every {@code By} field declared on
+ * {@link Page} classes, so locators can be resolved without reflection or classpath scanning.
+ */
+@SupportedAnnotationTypes("locator.Page")
+@SupportedOptions(LocatorIndexProcessor.PACKAGE_OPTION)
+public class LocatorIndexProcessor extends AbstractProcessor {
+
+    static final String PACKAGE_OPTION = "locator.indexPackage";
+    private static final String DEFAULT_PACKAGE = "pages.main";
+    private static final String INDEX_CLASS = "LocatorIndex";
+    private static final String BY_CLASS = "org.openqa.selenium.By";
+
+    private final Map<String, Map<String, String>> pages = new LinkedHashMap<>();
+    private final Map<String, String> entries = new LinkedHashMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Page.class)) {
+            TypeElement type = (TypeElement) element;
+            Page page = type.getAnnotation(Page.class);
+            collect(type, page.value().isEmpty() ? type.getSimpleName().toString() : page.value(), page.entry());
+            originatingElements.add(type);
+        }
+        if (!generated && !pages.isEmpty()) {
+            writeIndex();
+            generated = true;
+        }
+        return true;
+    }
+
+    private void collect(TypeElement type, String pageName, String entry) {
+        if (!isPublic(type)) {
+            error(type, "Page " + type.getQualifiedName() + " and its enclosing classes must be public.");
+            return;
+        }
+        if (pages.containsKey(pageName)) {
+            error(type, "Duplicate page name '" + pageName + "' in locator index.");
+            return;
+        }
+        TypeMirror byType = processingEnv.getElementUtils().getTypeElement(BY_CLASS).asType();
+        Map<String, String> locators = new LinkedHashMap<>();
+        pages.put(pageName, locators);
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.FIELD && processingEnv.getTypeUtils().isSameType(member.asType(), byType)) {
+                VariableElement field = (VariableElement) member;
+                // The index is generated into another package, so anything short of public does not compile there.
+                if (!field.getModifiers().contains(Modifier.STATIC) || !field.getModifiers().contains(Modifier.PUBLIC)) {
+                    error(field, "Locator " + field.getSimpleName() + " must be a public static field.");
+                    continue;
+                }
+                locators.put(field.getSimpleName().toString(), type.getQualifiedName() + "." + field.getSimpleName());
+            } else if (member.getKind() == ElementKind.CLASS && member.getModifiers().contains(Modifier.STATIC)
+                    && member.getAnnotation(Page.class) == null) {
+                collect((TypeElement) member, member.getSimpleName().toString(), "");
+            }
+        }
+
+        if (!entry.isEmpty() && !locators.containsKey(entry)) {
+            error(type, "Entry locator '" + entry + "' is not declared on page '" + pageName + "'.");
+        } else if (!locators.isEmpty()) {
+            entries.put(pageName, locators.get(entry.isEmpty() ? locators.keySet().iterator().next() : entry));
+        }
+    }
+
+    private static boolean isPublic(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeIndex() {
+        String packageName = processingEnv.getOptions().getOrDefault(PACKAGE_OPTION, DEFAULT_PACKAGE);
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+                .createSourceFile(packageName + "." + INDEX_CLASS, originatingElements.toArray(new Element[0]))
+                .openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import org.openqa.selenium.By;");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + LocatorIndexProcessor.class.getName() + "\")");
+            out.println("final class " + INDEX_CLASS + " {");
+            out.println();
+            out.println("    private " + INDEX_CLASS + "() {");
+            out.println("    }");
+            out.println();
+            out.println("    static By find(String pageName, String key) {");
+            out.println("        return switch (pageName) {");
+            for (Map.Entry<String, Map<String, String>> page : pages.entrySet()) {
+                out.println("            case \"" + page.getKey() + "\" -> switch (key) {");
+                for (Map.Entry<String, String> locator : page.getValue().entrySet()) {
+                    out.println("                case \"" + locator.getKey() + "\" -> " + locator.getValue() + ";");
+                }
+                out.println("                default -> null;");
+                out.println("            };");
+            }
+            out.println("            default -> null;");
+            out.println("        };");
+            out.println("    }");
+            out.println();
+            out.println("    static By entry(String pageName) {");
+            out.println("        return switch (pageName) {");
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                out.println("            case \"" + entry.getKey() + "\" -> " + entry.getValue() + ";");
+            }
+            out.println("            default -> null;");
+            out.println("        };");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write locator index: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
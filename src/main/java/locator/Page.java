@@ -0,0 +1,25 @@
+package locator;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a page object whose static {@code By} fields are compiled into the locator index
+ * by {@link LocatorIndexProcessor}. Static nested classes are indexed as pages of their own.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Page {
+
+    /**
+     * Page name used for lookups; defaults to the simple class name.
+     */
+    String value() default "";
+
+    /**
+     * Name of the locator whose visibility means the page has loaded; defaults to the first declared locator.
+     */
+    String entry() default "";
+}
@@ -3,64 +3,160 @@ package log;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.LocationAware;
 import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
 
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 
 @Plugin(name = "CustomLayout", category = "Core", elementType = Layout.ELEMENT_TYPE, printObject = true)
-public class CustomLayout extends AbstractStringLayout {
+public class CustomLayout extends AbstractStringLayout implements LocationAware {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String UNKNOWN_SOURCE = "UnknownSource";
+    private static final String SEPARATOR_BAR = "━".repeat(256);
+    private static final int PREFIX_PADDING = 30;
+
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final boolean locationInfo;
+    private volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, "");
 
     protected CustomLayout(Charset charset) {
+        this(charset, true);
+    }
+
+    protected CustomLayout(Charset charset, boolean locationInfo) {
         super(charset);
+        this.locationInfo = locationInfo;
     }
 
+    /**
+     * @param locationInfo when {@code false} the source column is taken from the logger name,
+     *                     so Log4j never has to walk the stack for this layout.
+     */
     @PluginFactory
-    public static CustomLayout createLayout() {
-        return new CustomLayout(Charset.defaultCharset());
+    public static CustomLayout createLayout(@PluginAttribute(value = "locationInfo", defaultBoolean = true) boolean locationInfo) {
+        return new CustomLayout(Charset.defaultCharset(), locationInfo);
+    }
+
+    @Override
+    public boolean requiresLocation() {
+        return locationInfo;
     }
 
     @Override
     public String toSerializable(LogEvent event) {
-        String timestamp = Instant.ofEpochMilli(event.getTimeMillis())
-                .atZone(ZoneId.systemDefault())
-                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        String level = event.getLevel().toString();
-        String message = event.getMessage().getFormattedMessage();
+        return toText(event, getStringBuilder()).toString();
+    }
+
+    /**
+     * Garbage-free path: formats into the thread-local builder and encodes it
+     * straight into the appender's buffer without creating an intermediate String.
+     */
+    @Override
+    public void encode(LogEvent event, ByteBufferDestination destination) {
+        StringBuilder text = toText(event, getStringBuilder());
+        getStringBuilderEncoder().encode(text, destination);
+        trimToMaxSize(text);
+    }
+
+    private StringBuilder toText(LogEvent event, StringBuilder builder) {
+        String level = event.getLevel().name();
         String color = LogLevelColor.getColorForLevel(level);
-        String sourceInfo = getSourceInfo(event);
-        String prefix = getDynamicPrefix(level, sourceInfo);
 
-        return String.format(
-                "%s%s[%s] %s %s: %s%n%s",
-                prefix, color, timestamp, sourceInfo, level, message, LogLevelColor.DEFAULT.getColorCode()
-        );
+        appendDynamicPrefix(builder, color, sourceInfoLength(event));
+        builder.append(color).append('[').append(formatTimestamp(event.getTimeMillis())).append("] ");
+        appendSourceInfo(builder, event);
+        builder.append(' ').append(level).append(": ");
+        appendMessage(builder, event.getMessage());
+        return builder.append(LINE_SEPARATOR).append(LogLevelColor.DEFAULT.getColorCode());
+    }
+
+    private String formatTimestamp(long timeMillis) {
+        long epochSecond = Math.floorDiv(timeMillis, 1000L);
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.epochSecond() != epochSecond) {
+            String text = Instant.ofEpochSecond(epochSecond).atZone(zoneId).format(TIMESTAMP_FORMATTER);
+            cached = new CachedTimestamp(epochSecond, text);
+            cachedTimestamp = cached;
+        }
+        return cached.text();
+    }
+
+    private void appendSourceInfo(StringBuilder builder, LogEvent event) {
+        if (!locationInfo) {
+            String loggerName = event.getLoggerName();
+            builder.append(loggerName).append('(')
+                    .append(loggerName, loggerName.lastIndexOf('.') + 1, loggerName.length())
+                    .append(".java)");
+            return;
+        }
+        StackTraceElement source = event.getSource();
+        if (source == null) {
+            builder.append(UNKNOWN_SOURCE);
+            return;
+        }
+        String className = source.getClassName();
+        builder.append(className).append('.').append(source.getMethodName()).append('(')
+                .append(className, className.lastIndexOf('.') + 1, className.length())
+                .append(".java:").append(source.getLineNumber()).append(')');
+    }
+
+    private int sourceInfoLength(LogEvent event) {
+        if (!locationInfo) {
+            String loggerName = event.getLoggerName();
+            return loggerName.length() + 1 + loggerName.length() - (loggerName.lastIndexOf('.') + 1) + ".java)".length();
+        }
+        StackTraceElement source = event.getSource();
+        if (source == null) {
+            return UNKNOWN_SOURCE.length();
+        }
+        String className = source.getClassName();
+        int simpleNameLength = className.length() - (className.lastIndexOf('.') + 1);
+        return className.length() + 1 + source.getMethodName().length() + 1
+                + simpleNameLength + ".java:".length() + decimalLength(source.getLineNumber()) + 1;
+    }
+
+    private static int decimalLength(int value) {
+        int length = value < 0 ? 2 : 1;
+        long remaining = Math.abs((long) value);
+        while (remaining >= 10) {
+            remaining /= 10;
+            length++;
+        }
+        return length;
     }
 
-    private String getSourceInfo(LogEvent event) {
-        if (event.getSource() != null) {
-            String className = event.getSource().getClassName();
-            String methodName = event.getSource().getMethodName();
-            int lineNumber = event.getSource().getLineNumber();
-            return String.format("%s.%s(%s.java:%d)", className, methodName, className.substring(className.lastIndexOf('.') + 1), lineNumber);
+    private static void appendMessage(StringBuilder builder, Message message) {
+        if (message instanceof StringBuilderFormattable formattable) {
+            formattable.formatTo(builder);
         } else {
-            return "UnknownSource";
+            builder.append(message == null ? null : message.getFormattedMessage());
         }
     }
 
-    private String getDynamicPrefix(String level, String sourceInfo) {
-        int totalLength = sourceInfo.length() + 30;
-        StringBuilder builder = new StringBuilder();
-        String color = LogLevelColor.getColorForLevel(level);
+    private static void appendDynamicPrefix(StringBuilder builder, String color, int sourceInfoLength) {
         builder.append(color);
-        for (int i = 0; i < totalLength; i++) {
-            builder.append("━");
+        int remaining = sourceInfoLength + PREFIX_PADDING;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, SEPARATOR_BAR.length());
+            builder.append(SEPARATOR_BAR, 0, chunk);
+            remaining -= chunk;
         }
-        builder.append(LogLevelColor.DEFAULT.getColorCode()).append(System.lineSeparator());
-        return builder.toString();
+        builder.append(LogLevelColor.DEFAULT.getColorCode()).append(LINE_SEPARATOR);
+    }
+
+    private record CachedTimestamp(long epochSecond, String text) {
     }
 
     public enum LogLevelColor {
@@ -71,6 +167,14 @@ public class CustomLayout extends AbstractStringLayout {
         TRACE("\u001B[35;1m"),
         DEFAULT("\u001B[0m");
 
+        private static final Map<String, String> COLORS_BY_LEVEL = new HashMap<>();
+
+        static {
+            for (LogLevelColor color : values()) {
+                COLORS_BY_LEVEL.put(color.name(), color.getColorCode());
+            }
+        }
+
         private final String colorCode;
 
         LogLevelColor(String colorCode) {
@@ -78,11 +182,7 @@ public class CustomLayout extends AbstractStringLayout {
         }
 
         public static String getColorForLevel(String level) {
-            try {
-                return LogLevelColor.valueOf(level.toUpperCase()).getColorCode();
-            } catch (IllegalArgumentException e) {
-                return DEFAULT.getColorCode();
-            }
+            return COLORS_BY_LEVEL.getOrDefault(level.toUpperCase(), DEFAULT.getColorCode());
         }
 
         public String getColorCode() {
@@ -0,0 +1,141 @@
+package log;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.AbstractStringLayout;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.util.StringBuilderWriter;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+import org.apache.logging.log4j.util.StringBuilders;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One compact JSON object per line for log shipping, the machine-readable sibling of {@link CustomLayout}.
+ * Scenario correlation comes from the ThreadContext entries set by the Cucumber hooks.
+ */
+@Plugin(name = "JsonLinesLayout", category = "Core", elementType = Layout.ELEMENT_TYPE, printObject = true)
+public class JsonLinesLayout extends AbstractStringLayout {
+
+    private static final DateTimeFormatter SECOND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final String[] CONTEXT_FIELDS = {"scenario", ScenarioBufferAppender.SCENARIO_ID, "browser"};
+
+    private final boolean includeThrown;
+    private volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, "");
+
+    protected JsonLinesLayout(boolean includeThrown) {
+        super(StandardCharsets.UTF_8);
+        this.includeThrown = includeThrown;
+    }
+
+    /**
+     * @param includeThrown when {@code false} only the exception class and message are written, not the stack trace
+     */
+    @PluginFactory
+    public static JsonLinesLayout createLayout(@PluginAttribute(value = "includeThrown", defaultBoolean = true) boolean includeThrown) {
+        return new JsonLinesLayout(includeThrown);
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/x-ndjson; charset=UTF-8";
+    }
+
+    @Override
+    public String toSerializable(LogEvent event) {
+        return toJson(event, getStringBuilder()).toString();
+    }
+
+    /**
+     * Garbage-free path, as in {@link CustomLayout}: the object is built in the thread-local
+     * builder and encoded straight into the appender's buffer.
+     */
+    @Override
+    public void encode(LogEvent event, ByteBufferDestination destination) {
+        StringBuilder json = toJson(event, getStringBuilder());
+        getStringBuilderEncoder().encode(json, destination);
+        trimToMaxSize(json);
+    }
+
+    private StringBuilder toJson(LogEvent event, StringBuilder builder) {
+        builder.append("{\"timestamp\":\"");
+        appendTimestamp(builder, event.getTimeMillis());
+        builder.append("Z\",\"level\":\"").append(event.getLevel().name()).append('"');
+        appendField(builder, "logger", event.getLoggerName());
+        appendField(builder, "thread", event.getThreadName());
+
+        ReadOnlyStringMap context = event.getContextData();
+        for (String field : CONTEXT_FIELDS) {
+            String value = context.getValue(field);
+            if (value != null) {
+                appendField(builder, field, value);
+            }
+        }
+
+        builder.append(",\"message\":\"");
+        int start = builder.length();
+        appendMessage(builder, event.getMessage());
+        StringBuilders.escapeJson(builder, start);
+        builder.append('"');
+
+        Throwable thrown = event.getThrown();
+        if (thrown != null) {
+            builder.append(",\"thrown\":\"");
+            start = builder.length();
+            if (includeThrown) {
+                thrown.printStackTrace(new PrintWriter(new StringBuilderWriter(builder)));
+            } else {
+                builder.append(thrown);
+            }
+            StringBuilders.escapeJson(builder, start);
+            builder.append('"');
+        }
+        return builder.append('}').append('\n');
+    }
+
+    private void appendTimestamp(StringBuilder builder, long timeMillis) {
+        long epochSecond = Math.floorDiv(timeMillis, 1000L);
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.epochSecond() != epochSecond) {
+            cached = new CachedTimestamp(epochSecond, SECOND_FORMATTER.format(Instant.ofEpochSecond(epochSecond)));
+            cachedTimestamp = cached;
+        }
+        int millis = (int) Math.floorMod(timeMillis, 1000L);
+        builder.append(cached.text()).append('.');
+        if (millis < 100) {
+            builder.append('0');
+        }
+        if (millis < 10) {
+            builder.append('0');
+        }
+        builder.append(millis);
+    }
+
+    private static void appendField(StringBuilder builder, String name, String value) {
+        builder.append(",\"").append(name).append("\":\"");
+        int start = builder.length();
+        builder.append(value);
+        StringBuilders.escapeJson(builder, start);
+        builder.append('"');
+    }
+
+    private static void appendMessage(StringBuilder builder, Message message) {
+        if (message instanceof StringBuilderFormattable formattable) {
+            formattable.formatTo(builder);
+        } else {
+            builder.append(message == null ? null : message.getFormattedMessage());
+        }
+    }
+
+    private record CachedTimestamp(long epochSecond, String text) {
+    }
+}
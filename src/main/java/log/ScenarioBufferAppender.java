@@ -0,0 +1,220 @@
+package log;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.AppenderControl;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps DEBUG/INFO events of each scenario in a bounded ring buffer keyed by the
+ * {@value #SCENARIO_ID} ThreadContext entry, so passing scenarios cost one summary line.
+ * Events at or above {@code passThroughLevel} and events logged outside a scenario go straight
+ * to the referenced appenders. {@link #finish(String, String, boolean)} either replays the
+ * buffer (failed scenario) or replaces it with the summary line (passed scenario).
+ */
+@Plugin(name = "ScenarioBuffer", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class ScenarioBufferAppender extends AbstractAppender {
+
+    public static final String SCENARIO_ID = "scenarioId";
+
+    private static final String DEFAULT_PATTERN = "%d{HH:mm:ss.SSS} %-5level [%t] %logger{1} - %msg%n%throwable";
+    private static final int FINISHED_SCENARIOS_TRACKED = 1024;
+    private static final Set<ScenarioBufferAppender> instances = ConcurrentHashMap.newKeySet();
+
+    private final Configuration configuration;
+    private final AppenderRef[] appenderRefs;
+    private final List<AppenderControl> delegates = new ArrayList<>();
+    private final int capacity;
+    private final Level passThroughLevel;
+    private final boolean dumpOnFailure;
+    private final Map<String, Buffer> buffers = new ConcurrentHashMap<>();
+    // Late events of finished scenarios (e.g. from async loggers): forwarded when the scenario failed, dropped otherwise.
+    private final Map<String, Boolean> finished = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > FINISHED_SCENARIOS_TRACKED;
+        }
+    });
+
+    private ScenarioBufferAppender(String name, Filter filter, Layout<? extends Serializable> layout, Configuration configuration,
+                                   AppenderRef[] appenderRefs, int capacity, Level passThroughLevel, boolean dumpOnFailure) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+        this.configuration = configuration;
+        this.appenderRefs = appenderRefs;
+        this.capacity = capacity;
+        this.passThroughLevel = passThroughLevel;
+        this.dumpOnFailure = dumpOnFailure;
+    }
+
+    /**
+     * @param capacity         events kept per scenario; the oldest are dropped first
+     * @param passThroughLevel events at or above this level are never buffered
+     * @param dumpOnFailure    whether a failed scenario's buffer is replayed to the referenced appenders
+     */
+    @PluginFactory
+    public static ScenarioBufferAppender createAppender(@PluginAttribute("name") String name,
+                                                       @PluginAttribute(value = "capacity", defaultInt = 5000) int capacity,
+                                                       @PluginAttribute(value = "passThroughLevel", defaultString = "WARN") String passThroughLevel,
+                                                       @PluginAttribute(value = "dumpOnFailure", defaultBoolean = true) boolean dumpOnFailure,
+                                                       @PluginElement("AppenderRef") AppenderRef[] appenderRefs,
+                                                       @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                                       @PluginElement("Filter") Filter filter,
+                                                       @PluginConfiguration Configuration configuration) {
+        if (name == null) {
+            LOGGER.error("No name provided for ScenarioBufferAppender");
+            return null;
+        }
+        if (appenderRefs == null || appenderRefs.length == 0) {
+            LOGGER.error("No appender references provided for ScenarioBufferAppender {}", name);
+            return null;
+        }
+        Layout<? extends Serializable> attachmentLayout = layout != null ? layout
+                : PatternLayout.newBuilder().withPattern(DEFAULT_PATTERN).withConfiguration(configuration).build();
+        return new ScenarioBufferAppender(name, filter, attachmentLayout, configuration, appenderRefs,
+                capacity, Level.toLevel(passThroughLevel, Level.WARN), dumpOnFailure);
+    }
+
+    @Override
+    public void start() {
+        for (AppenderRef ref : appenderRefs) {
+            Appender appender = configuration.getAppender(ref.getRef());
+            if (appender == null) {
+                LOGGER.error("Appender {} referenced by ScenarioBufferAppender {} does not exist", ref.getRef(), getName());
+                continue;
+            }
+            delegates.add(new AppenderControl(appender, ref.getLevel(), ref.getFilter()));
+        }
+        instances.add(this);
+        super.start();
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        instances.remove(this);
+        buffers.clear();
+        return super.stop(timeout, timeUnit);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        String scenarioId = event.getContextData().getValue(SCENARIO_ID);
+        if (scenarioId == null || event.getLevel().isMoreSpecificThan(passThroughLevel)) {
+            forward(event);
+            return;
+        }
+        Boolean failed = finished.get(scenarioId);
+        if (failed != null) {
+            if (failed) {
+                forward(event);
+            }
+            return;
+        }
+        buffers.computeIfAbsent(scenarioId, id -> new Buffer(capacity)).add(event.toImmutable());
+    }
+
+    /**
+     * Ends buffering for a scenario in every active appender.
+     *
+     * @return the buffered events formatted with the appender layout when the scenario failed,
+     * for attaching to the report; {@code null} when it passed
+     */
+    public static String finish(String scenarioId, String scenarioName, boolean failed) {
+        if (scenarioId == null) {
+            return null;
+        }
+        StringBuilder text = failed ? new StringBuilder() : null;
+        for (ScenarioBufferAppender appender : instances) {
+            appender.finishScenario(scenarioId, scenarioName, failed, text);
+        }
+        return text == null || text.isEmpty() ? null : text.toString();
+    }
+
+    private void finishScenario(String scenarioId, String scenarioName, boolean failed, StringBuilder text) {
+        finished.put(scenarioId, failed);
+        Buffer buffer = buffers.remove(scenarioId);
+        List<LogEvent> events = buffer == null ? List.of() : buffer.drain();
+        long dropped = buffer == null ? 0 : buffer.dropped;
+        if (!failed) {
+            forward(summary(String.format("Scenario '%s' passed; %d buffered event(s) suppressed%s.",
+                    scenarioName, events.size(), dropped > 0 ? ", " + dropped + " dropped" : "")));
+            return;
+        }
+        if (dropped > 0) {
+            text.append("... ").append(dropped).append(" earlier event(s) dropped ...").append(System.lineSeparator());
+        }
+        for (LogEvent event : events) {
+            text.append(getLayout().toSerializable(event));
+            if (dumpOnFailure) {
+                forward(event);
+            }
+        }
+    }
+
+    private LogEvent summary(String message) {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(ScenarioBufferAppender.class.getName())
+                .setLoggerFqcn(ScenarioBufferAppender.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message))
+                .setThreadName(Thread.currentThread().getName())
+                .setTimeMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    private void forward(LogEvent event) {
+        for (AppenderControl delegate : delegates) {
+            delegate.callAppender(event);
+        }
+    }
+
+    private static final class Buffer {
+        private final ArrayDeque<LogEvent> events;
+        private final int capacity;
+        private long dropped;
+
+        private Buffer(int capacity) {
+            this.capacity = capacity;
+            this.events = new ArrayDeque<>(Math.min(capacity, 256));
+        }
+
+        synchronized void add(LogEvent event) {
+            if (events.size() == capacity) {
+                events.pollFirst();
+                dropped++;
+            }
+            events.addLast(event);
+        }
+
+        synchronized List<LogEvent> drain() {
+            List<LogEvent> drained = new ArrayList<>(events);
+            events.clear();
+            return drained;
+        }
+    }
+}
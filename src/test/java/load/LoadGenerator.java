@@ -0,0 +1,180 @@
+package load;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import standin.MoneyApiStandIn;
+import steps.money.MoneyFlow;
+import utils.ConfigManager;
+import utils.ConfigSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model API load generator for the money flows. Virtual users arrive at {@code load.arrivalRate}
+ * per second for {@code load.duration}, each on its own virtual thread, and run login, add money
+ * and transfer money the way {@code AddMoneySteps.performAddMoney} and
+ * {@code TransferMoneySteps.performTransferMoney} do through the UI.
+ * <p>
+ * Arrivals follow the schedule regardless of how slow responses are, and the {@code iteration}
+ * latency is measured from the scheduled start, so queueing delay is not hidden
+ * (coordinated omission). Like every configuration key, {@code load.*} can be overridden with a
+ * system property.
+ * <p>
+ * Load goes to the embedded {@link MoneyApiStandIn} unless a remote target is passed explicitly
+ * with {@code -Dapi.baseUrl} together with its {@code api.login.path}, {@code api.money.add.path}
+ * and {@code api.money.transfer.path}; none of these ship in config.properties.
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String LOGIN = "login";
+    private static final String ADD_MONEY = "addMoney";
+    private static final String TRANSFER_MONEY = "transferMoney";
+    private static final String ITERATION = "iteration";
+
+    private final MoneyApiClient client;
+    private final LoadStatistics statistics = new LoadStatistics(LOGIN, ADD_MONEY, TRANSFER_MONEY, ITERATION);
+    private final String username;
+    private final String password;
+    private final ConfigSnapshot.Card card;
+    private final MoneyFlow.Accounts accounts;
+    private final String addAmount;
+    private final String transferAmount;
+
+    LoadGenerator(MoneyApiClient client) {
+        this.client = client;
+        String userKey = setting("load.user");
+        ConfigSnapshot.User user = ConfigManager.getUser(userKey);
+        if (user == null) {
+            throw new IllegalArgumentException("User is not configured for key: " + userKey);
+        }
+        this.username = user.username();
+        this.password = user.password();
+        this.card = MoneyFlow.card(setting("load.card"));
+        this.accounts = MoneyFlow.accounts(setting("load.transfer.accounts"));
+        this.addAmount = setting("load.addAmount");
+        this.transferAmount = setting("load.transferAmount");
+    }
+
+    public static void main(String[] args) {
+        double arrivalRate = Double.parseDouble(setting("load.arrivalRate"));
+        Duration duration = Duration.parse(setting("load.duration"));
+        int maxConcurrency = Integer.parseInt(setting("load.maxConcurrency"));
+        Duration requestTimeout = Duration.parse(setting("api.requestTimeout"));
+        Path report = Paths.get(setting("load.report"));
+
+        String remoteBaseUrl = ConfigManager.getProperty("api.baseUrl");
+        boolean remote = remoteBaseUrl != null && !remoteBaseUrl.isBlank();
+        MoneyApiStandIn standIn = remote ? null : MoneyApiStandIn.start(0, 0);
+        if (remote) {
+            logger.warn("Sending load to remote target: {}", remoteBaseUrl);
+        }
+
+        try (MoneyApiClient client = remote
+                ? new MoneyApiClient(remoteBaseUrl, setting("api.login.path"), setting("api.money.add.path"), setting("api.money.transfer.path"), requestTimeout)
+                : new MoneyApiClient(standIn.baseUrl(), MoneyApiStandIn.LOGIN_PATH, MoneyApiStandIn.ADD_MONEY_PATH, MoneyApiStandIn.TRANSFER_MONEY_PATH, requestTimeout)) {
+            Map<String, Object> summary = new LoadGenerator(client).run(arrivalRate, duration, maxConcurrency);
+            writeReport(report, summary);
+        } finally {
+            if (standIn != null) {
+                standIn.close();
+            }
+        }
+    }
+
+    Map<String, Object> run(double arrivalRate, Duration duration, int maxConcurrency) {
+        logger.info("Starting load: {} arrivals/s for {} (max {} concurrent users)", arrivalRate, duration, maxConcurrency);
+        if (!(arrivalRate > 0)) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalRate);
+        }
+        long intervalNanos = (long) (1_000_000_000L / arrivalRate);
+        if (intervalNanos <= 0) {
+            throw new IllegalArgumentException("Arrival rate is above one per nanosecond: " + arrivalRate);
+        }
+        Semaphore concurrency = new Semaphore(maxConcurrency);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                if (!concurrency.tryAcquire()) {
+                    statistics.recordDropped();
+                    continue;
+                }
+                long scheduledStart = scheduled;
+                users.submit(() -> {
+                    try {
+                        runIteration(scheduledStart);
+                    } finally {
+                        concurrency.release();
+                    }
+                });
+            }
+            logger.info("All arrivals scheduled; waiting for in-flight users to finish.");
+        }
+
+        Map<String, Object> summary = statistics.summary(System.nanoTime() - start);
+        logger.info("Load finished: {}", summary);
+        return summary;
+    }
+
+    private void runIteration(long scheduledStart) {
+        try {
+            String token = timed(LOGIN, () -> client.login(username, password));
+            double balance = timed(ADD_MONEY, () -> client.addMoney(token, card, addAmount));
+            String amount = MoneyFlow.resolveTransferAmount(transferAmount, balance);
+            timed(TRANSFER_MONEY, () -> client.transferMoney(token, accounts, amount));
+            statistics.recordSuccess(ITERATION, System.nanoTime() - scheduledStart);
+        } catch (RuntimeException e) {
+            statistics.recordFailure(ITERATION);
+            logger.debug("Load iteration failed: {}", e.getMessage());
+        }
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            statistics.recordSuccess(operation, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            statistics.recordFailure(operation);
+            throw e;
+        }
+    }
+
+    private static void writeReport(Path report, Map<String, Object> summary) {
+        try {
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, new Json().toJson(summary));
+            logger.info("Load report written to: {}", report);
+        } catch (IOException e) {
+            logger.error("Failed to write load report: {}", report, e);
+            throw new RuntimeException("Error writing load report: " + report, e);
+        }
+    }
+
+    private static String setting(String key) {
+        String value = ConfigManager.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Load setting is not configured: " + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,80 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds) and counters per operation, safe to record into from any thread.
+ */
+final class LoadStatistics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    LoadStatistics(String... operationNames) {
+        for (String name : operationNames) {
+            operations.put(name, new Operation());
+        }
+    }
+
+    void recordSuccess(String operation, long elapsedNanos) {
+        Operation stats = operations.get(operation);
+        stats.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordFailure(String operation) {
+        operations.get(operation).failures.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Summary with one entry per operation: successes, failures, throughput per second and latency percentiles in ms.
+     */
+    Map<String, Object> summary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("durationSeconds", round(seconds));
+        summary.put("dropped", dropped.sum());
+        operations.forEach((name, stats) -> {
+            Histogram histogram = stats.histogram.copy();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("successes", histogram.getTotalCount());
+            entry.put("failures", stats.failures.sum());
+            entry.put("throughputPerSecond", round(histogram.getTotalCount() / seconds));
+            for (double percentile : PERCENTILES) {
+                entry.put("p" + format(percentile) + "Ms", toMillis(histogram.getValueAtPercentile(percentile)));
+            }
+            entry.put("maxMs", toMillis(histogram.getMaxValue()));
+            summary.put(name, entry);
+        });
+        return summary;
+    }
+
+    private static double toMillis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.floor(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static final class Operation {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder failures = new LongAdder();
+    }
+}
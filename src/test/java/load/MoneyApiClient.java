@@ -0,0 +1,84 @@
+package load;
+
+import kong.unirest.core.HttpRequestWithBody;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestInstance;
+import org.openqa.selenium.json.Json;
+import steps.money.MoneyFlow;
+import utils.ConfigSnapshot;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP counterpart of the login, add-money and transfer-money UI flows.
+ * Endpoint paths are those of {@code MoneyApiStandIn} unless a remote target supplies its own.
+ */
+final class MoneyApiClient implements AutoCloseable {
+
+    private static final Json JSON = new Json();
+
+    private final UnirestInstance unirest;
+    private final String loginPath;
+    private final String addMoneyPath;
+    private final String transferMoneyPath;
+
+    MoneyApiClient(String baseUrl, String loginPath, String addMoneyPath, String transferMoneyPath, Duration requestTimeout) {
+        this.unirest = Unirest.spawnInstance();
+        this.unirest.config()
+                .defaultBaseUrl(baseUrl)
+                .requestTimeout((int) requestTimeout.toMillis())
+                .setDefaultHeader("Content-Type", "application/json")
+                .setDefaultHeader("Accept", "application/json");
+        this.loginPath = loginPath;
+        this.addMoneyPath = addMoneyPath;
+        this.transferMoneyPath = transferMoneyPath;
+    }
+
+    String login(String username, String password) {
+        Map<String, Object> response = post(loginPath, null, Map.of("username", username, "password", password));
+        return String.valueOf(response.get("token"));
+    }
+
+    /**
+     * @return the main account balance after the money was added
+     */
+    double addMoney(String token, ConfigSnapshot.Card card, String amount) {
+        Map<String, Object> response = post(addMoneyPath, token, Map.of(
+                "cardNumber", card.number(),
+                "cardHolder", card.holder(),
+                "expireDate", card.expireDate(),
+                "cvv", card.cvv(),
+                "amount", amount));
+        return ((Number) response.get("balance")).doubleValue();
+    }
+
+    /**
+     * @return the main account balance after the transfer
+     */
+    double transferMoney(String token, MoneyFlow.Accounts accounts, String amount) {
+        Map<String, Object> response = post(transferMoneyPath, token, Map.of(
+                "sender", accounts.sender(),
+                "receiver", accounts.receiver(),
+                "amount", amount));
+        return ((Number) response.get("balance")).doubleValue();
+    }
+
+    private Map<String, Object> post(String path, String token, Map<String, Object> body) {
+        HttpRequestWithBody request = unirest.post(path);
+        if (token != null) {
+            request = request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = request.body(JSON.toJson(body)).asString();
+        if (!response.isSuccess()) {
+            throw new IllegalStateException("POST " + path + " failed with status " + response.getStatus() + ": " + response.getBody());
+        }
+        return JSON.toType(response.getBody(), Json.MAP_TYPE);
+    }
+
+    @Override
+    public void close() {
+        unirest.close();
+    }
+}
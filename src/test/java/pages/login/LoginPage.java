@@ -1,7 +1,9 @@
 package pages.login;
 
+import locator.Page;
 import org.openqa.selenium.By;
 
+@Page
 public class LoginPage {
 
     public static final String pageName = "LoginPage";
@@ -1,7 +1,9 @@
 package pages.money;
 
+import locator.Page;
 import org.openqa.selenium.By;
 
+@Page(entry = "CARD_NUMBER_FIELD")
 public class AddMoneyPage {
     public static final String PAGE_NAME = "AddMoneyPage";
 
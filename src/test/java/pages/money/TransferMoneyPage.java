@@ -1,7 +1,9 @@
 package pages.money;
 
+import locator.Page;
 import org.openqa.selenium.By;
 
+@Page(entry = "SENDER_ACCOUNT_DROPDOWN")
 public class TransferMoneyPage {
     public static final String pageName = "TransferMoneyPage";
 
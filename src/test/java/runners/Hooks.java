@@ -1,64 +1,137 @@
 package runners;
 
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
+import log.ScenarioBufferAppender;
+import org.apache.logging.log4j.ThreadContext;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import standin.WebClientStandIn;
+import steps.main.MainSteps;
+import utils.ConfigManager;
 import utils.DriverManager;
+import utils.LatencyRecorder;
+import utils.ScreenshotWriter;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class Hooks {
-    private static WebDriver driver;
+    private static final String REAL_KEYSTROKES_TAG = "@realKeystrokes";
+    private static final DateTimeFormatter SCREENSHOT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final ThreadLocal<Scenario> currentScenario = new ThreadLocal<>();
+    private static WebClientStandIn webClientStandIn;
+
+    /**
+     * With {@code -Dstandin.enabled=true} the suite runs against the embedded web client replica
+     * instead of the live site.
+     */
+    @BeforeAll
+    public static void startStandIn() {
+        if (Boolean.getBoolean("standin.enabled")) {
+            webClientStandIn = WebClientStandIn.start(Integer.getInteger("standin.port", 0));
+            ConfigManager.overrideProperty("login.url", webClientStandIn.loginUrl());
+        }
+    }
+
+    @AfterAll
+    public static void stopStandIn() {
+        if (webClientStandIn != null) {
+            webClientStandIn.close();
+            webClientStandIn = null;
+        }
+    }
 
     public static WebDriver getDriver() {
-        return driver;
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * Scenario running on the current thread, for step definitions that attach measurements to the report.
+     */
+    public static Scenario getScenario() {
+        return currentScenario.get();
     }
 
     public static void captureScreenshot(String stepTiming, Scenario scenario) {
+        WebDriver driver = getDriver();
         if (driver == null) {
             return;
         }
         try {
-            TakesScreenshot screenshot = (TakesScreenshot) driver;
-            byte[] imageBytes = screenshot.getScreenshotAs(OutputType.BYTES);
+            byte[] imageBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
             scenario.attach(imageBytes, "image/png", stepTiming + " Screenshot");
 
-            File srcFile = screenshot.getScreenshotAs(OutputType.FILE);
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String screenshotName = "screenshots/" + scenario.getName().replace(" ", "_") + "_" + stepTiming + "_" + timestamp + ".png";
-            Files.createDirectories(Paths.get("screenshots"));
-            Files.copy(srcFile.toPath(), Paths.get(screenshotName));
-        } catch (IOException e) {
-            System.err.println("Failed to capture and save screenshot: " + e.getMessage());
+            String timestamp = LocalDateTime.now().format(SCREENSHOT_TIMESTAMP);
+            ScreenshotWriter.submit(imageBytes, scenario.getName().replace(" ", "_") + "_" + stepTiming + "_" + timestamp);
+        } catch (WebDriverException e) {
+            System.err.println("Failed to capture screenshot: " + e.getMessage());
         }
     }
 
     public void setBrowserAndInitialize(String browser, boolean isMobile, String deviceName, String dimensions) {
+        setBrowserAndInitialize(browser, isMobile, deviceName, dimensions, null, null);
+    }
+
+    public void setBrowserAndInitialize(String browser, boolean isMobile, String deviceName, String dimensions, String blockRequests, String launchProfile) {
         if (browser == null || browser.isEmpty()) {
             browser = DriverManager.Browser.CHROME.name();
         }
+        ThreadContext.put("browser", browser);
 
         if (isMobile) {
             String[] dimensionParts = dimensions.split("x");
             int width = Integer.parseInt(dimensionParts[0]);
             int height = Integer.parseInt(dimensionParts[1]);
-            driver = DriverManager.getDriver(browser, true, deviceName, width, height);
+            DriverManager.getDriver(browser, true, deviceName, width, height, blockRequests, launchProfile);
         } else {
-            driver = DriverManager.getDriver(browser, false, null, 0, 0);
+            DriverManager.getDriver(browser, false, null, 0, 0, blockRequests, launchProfile);
+        }
+    }
+
+    @Before
+    public void setUp(Scenario scenario) {
+        currentScenario.set(scenario);
+        ThreadContext.put(ScenarioBufferAppender.SCENARIO_ID, scenario.getId());
+        ThreadContext.put("scenario", scenario.getName());
+        LatencyRecorder.startScenario();
+        if (scenario.getSourceTagNames().contains(REAL_KEYSTROKES_TAG)) {
+            MainSteps.setFastFillEnabled(false);
         }
     }
 
     @After
-    public void tearDown() {
-        if (driver != null) {
-            DriverManager.quitDriver();
+    public void tearDown(Scenario scenario) {
+        if (LatencyRecorder.isEnabled()) {
+            scenario.attach(LatencyRecorder.scenarioSummary(), "application/json", "Latency summary");
+        }
+        MainSteps.resetFastFill();
+        MainSteps.resetTransition();
+        currentScenario.remove();
+        try {
+            if (getDriver() != null) {
+                DriverManager.quitDriver();
+            }
+        } finally {
+            finishScenarioLog(scenario);
+        }
+    }
+
+    /**
+     * Under the {@code buffered-logging} profile, replays a failed scenario's DEBUG/INFO log and
+     * attaches it to the report; a passed scenario only leaves a summary line.
+     */
+    private static void finishScenarioLog(Scenario scenario) {
+        String bufferedLog = ScenarioBufferAppender.finish(ThreadContext.get(ScenarioBufferAppender.SCENARIO_ID),
+                scenario.getName(), scenario.isFailed());
+        if (bufferedLog != null) {
+            scenario.attach(bufferedLog, "text/plain", "Scenario log");
         }
+        ThreadContext.clearMap();
     }
 }
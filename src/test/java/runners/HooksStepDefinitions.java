@@ -26,6 +26,8 @@ public class HooksStepDefinitions {
             String browser = row.get("Browser");
             String deviceName = row.getOrDefault("DeviceName", "");
             String dimensions = row.getOrDefault("Dimensions", "");
+            String blockRequests = row.getOrDefault("BlockRequests", "");
+            String launchProfile = row.getOrDefault("Profile", "");
 
             boolean isMobile = browser.startsWith("MWEB_");
             if (isMobile) {
@@ -33,9 +35,9 @@ public class HooksStepDefinitions {
                     logger.error("DeviceName and Dimensions are required for mobile browsers but are missing. Browser: {}", browser);
                     throw new IllegalArgumentException("DeviceName and Dimensions are required for mobile browsers.");
                 }
-                hooks.setBrowserAndInitialize(browser, true, deviceName, dimensions);
+                hooks.setBrowserAndInitialize(browser, true, deviceName, dimensions, blockRequests, launchProfile);
             } else {
-                hooks.setBrowserAndInitialize(browser, false, null, null);
+                hooks.setBrowserAndInitialize(browser, false, null, null, blockRequests, launchProfile);
             }
         });
 
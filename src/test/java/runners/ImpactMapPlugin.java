@@ -0,0 +1,88 @@
+package runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import utils.ImpactMap;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records which glue classes and pages each scenario reaches and merges them into the impact map
+ * when the run finishes, for {@link ImpactSelector} to pick scenarios affected by a change.
+ * Events of a test case arrive on the thread running it, so per-scenario state is thread-local.
+ */
+public class ImpactMapPlugin implements ConcurrentEventListener {
+
+    private final ThreadLocal<Set<String>> classes = new ThreadLocal<>();
+    private final Map<String, ImpactMap.Entry> recorded = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!ImpactMap.isRecordingEnabled()) {
+            return;
+        }
+        ImpactMap.enableRecording();
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        classes.set(new LinkedHashSet<>());
+        ImpactMap.beginRecording();
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        Set<String> reached = classes.get();
+        String codeLocation = null;
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            codeLocation = step.getCodeLocation();
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            codeLocation = hook.getCodeLocation();
+        }
+        if (reached != null && codeLocation != null) {
+            reached.add(declaringClass(codeLocation));
+        }
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Set<String> reached = classes.get();
+        classes.remove();
+        List<String> pages = ImpactMap.endRecording();
+        if (reached == null) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        ImpactMap.Entry entry = new ImpactMap.Entry(testCase.getUri().toString(), testCase.getLocation().getLine(),
+                testCase.getName(), testCase.getTags(), List.copyOf(reached), pages);
+        recorded.put(entry.key(), entry);
+    }
+
+    private void onTestRunFinished() {
+        if (!recorded.isEmpty()) {
+            ImpactMap.merge(ImpactMap.location(), ImpactSelector.currentRevision().orElse("unknown"), recorded.values());
+        }
+    }
+
+    /**
+     * {@code stepdefinitions.money.AddMoneyDefinitions.addMoney(java.lang.String)} to
+     * {@code stepdefinitions.money.AddMoneyDefinitions}.
+     */
+    static String declaringClass(String codeLocation) {
+        int parameters = codeLocation.indexOf('(');
+        String method = parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+        return method.substring(0, Math.max(method.lastIndexOf('.'), 0));
+    }
+}
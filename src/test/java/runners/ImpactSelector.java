@@ -0,0 +1,214 @@
+package runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ImpactMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Narrows a run to the scenarios affected by the changes since a git base ref. Each scenario's
+ * recorded glue classes and pages (see {@link ImpactMapPlugin}) are expanded with every test source
+ * class that depends on a changed one, found from the import and same-package references in
+ * {@value #TEST_SOURCES}. Anything the map cannot vouch for falls back to the full suite: no map,
+ * feature files changed since it was recorded, or changes outside the test sources.
+ */
+final class ImpactSelector {
+
+    private static final Logger logger = LogManager.getLogger(ImpactSelector.class);
+    private static final String TEST_SOURCES = "src/test/java";
+    private static final Pattern IMPORT = Pattern.compile("^import\\s+(static\\s+)?([\\w.]+?)(\\.\\*)?;", Pattern.MULTILINE);
+    private static final Pattern PAGE = Pattern.compile(
+            "@Page(?:\\s*\\(([^)]*)\\))?\\s*(?:public\\s+|static\\s+|final\\s+)*class\\s+(\\w+)");
+    private static final Pattern PAGE_NAME = Pattern.compile("(?:value\\s*=\\s*)?\"([^\"]*)\"");
+    private static final Pattern WORD = Pattern.compile("\\b[A-Z]\\w*\\b");
+
+    private ImpactSelector() {
+    }
+
+    /**
+     * @param tags        the tag expression the full run would use
+     * @param fullSuite   whether the selection fell back to everything {@code tags} matches
+     * @param scenarios   number of affected scenarios, meaningless for a full suite
+     */
+    record Selection(String tags, boolean fullSuite, int scenarios) {
+        static Selection full(String tags, String reason) {
+            logger.info("Running the full suite: {}", reason);
+            return new Selection(tags, true, 0);
+        }
+    }
+
+    static Selection select(String baseRef, String baseTags) {
+        Optional<ImpactMap> map = ImpactMap.read(ImpactMap.location());
+        if (map.isEmpty()) {
+            return Selection.full(baseTags, "no impact map at " + ImpactMap.location());
+        }
+        Optional<List<String>> sinceRecording = changedFiles(map.get().revision());
+        if (sinceRecording.isEmpty()) {
+            return Selection.full(baseTags, "impact map revision " + map.get().revision() + " is unknown to git");
+        }
+        Optional<String> changedFeature = sinceRecording.get().stream().filter(file -> file.endsWith(".feature")).findFirst();
+        if (changedFeature.isPresent()) {
+            return Selection.full(baseTags, "impact map is out of date, " + changedFeature.get() + " changed since it was recorded");
+        }
+        Optional<List<String>> changed = changedFiles(baseRef);
+        if (changed.isEmpty()) {
+            return Selection.full(baseTags, "could not diff against " + baseRef);
+        }
+
+        Set<String> changedClasses = new HashSet<>();
+        for (String file : changed.get()) {
+            if (file.endsWith(".md")) {
+                continue;
+            }
+            if (!file.startsWith(TEST_SOURCES + "/") || !file.endsWith(".java")) {
+                return Selection.full(baseTags, file + " is outside the test sources");
+            }
+            changedClasses.add(toClassName(file));
+        }
+
+        SourceIndex index;
+        try {
+            index = SourceIndex.scan(Paths.get(TEST_SOURCES));
+        } catch (IOException e) {
+            logger.warn("Failed to scan {}", TEST_SOURCES, e);
+            return Selection.full(baseTags, "test sources could not be analysed");
+        }
+        Set<String> affected = index.dependentsOf(changedClasses);
+
+        Set<String> expressions = new LinkedHashSet<>();
+        for (ImpactMap.Entry entry : map.get().scenarios().values()) {
+            boolean reached = entry.classes().stream().anyMatch(affected::contains)
+                    || entry.pages().stream().map(index.pages::get).anyMatch(affected::contains);
+            if (!reached) {
+                continue;
+            }
+            if (entry.tags().isEmpty()) {
+                return Selection.full(baseTags, "affected scenario '" + entry.name() + "' has no tags to select it by");
+            }
+            logger.info("Affected scenario {}: {}", entry.key(), entry.name());
+            expressions.add("(" + String.join(" and ", entry.tags()) + ")");
+        }
+        logger.info("{} changed class(es) affect {} scenario(s)", changedClasses.size(), expressions.size());
+        return new Selection("(" + baseTags + ") and (" + (expressions.isEmpty() ? "@impact.none" : String.join(" or ", expressions)) + ")",
+                false, expressions.size());
+    }
+
+    static Optional<String> currentRevision() {
+        return git("rev-parse", "HEAD").map(String::trim);
+    }
+
+    /**
+     * Files differing between {@code ref} and the working tree.
+     */
+    private static Optional<List<String>> changedFiles(String ref) {
+        return git("diff", "--name-only", ref, "--").map(output -> output.lines().filter(line -> !line.isBlank()).toList());
+    }
+
+    private static Optional<String> git(String... arguments) {
+        String[] command = Stream.concat(Stream.of("git"), Stream.of(arguments)).toArray(String[]::new);
+        try {
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return process.waitFor() == 0 ? Optional.of(output) : Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Failed to run {}", String.join(" ", command), e);
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    private static String toClassName(String file) {
+        return file.substring(TEST_SOURCES.length() + 1, file.length() - ".java".length()).replace('/', '.');
+    }
+
+    /**
+     * Class-level dependency graph of the test sources, plus the page name to class mapping of
+     * the {@code @Page} classes.
+     */
+    private record SourceIndex(Map<String, Set<String>> dependents, Map<String, String> pages) {
+
+        static SourceIndex scan(Path root) throws IOException {
+            Map<String, String> sources = new HashMap<>();
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(".java")).toList()) {
+                    String relative = root.relativize(file).toString().replace('\\', '/');
+                    sources.put(relative.substring(0, relative.length() - ".java".length()).replace('/', '.'), Files.readString(file));
+                }
+            }
+            Map<String, Set<String>> dependents = new HashMap<>();
+            Map<String, String> pages = new HashMap<>();
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                String className = source.getKey();
+                for (String dependency : dependencies(className, source.getValue(), sources.keySet())) {
+                    dependents.computeIfAbsent(dependency, key -> new HashSet<>()).add(className);
+                }
+                Matcher page = PAGE.matcher(source.getValue());
+                while (page.find()) {
+                    Matcher name = PAGE_NAME.matcher(page.group(1) == null ? "" : page.group(1));
+                    String pageName = name.lookingAt() && !name.group(1).isEmpty() ? name.group(1) : page.group(2);
+                    pages.put(pageName, className);
+                }
+            }
+            return new SourceIndex(dependents, pages);
+        }
+
+        private static Set<String> dependencies(String className, String source, Set<String> known) {
+            Set<String> dependencies = new HashSet<>();
+            Matcher imports = IMPORT.matcher(source);
+            while (imports.find()) {
+                String name = imports.group(2);
+                if (imports.group(3) != null) {
+                    known.stream().filter(candidate -> candidate.startsWith(name + ".")).forEach(dependencies::add);
+                } else if (known.contains(name)) {
+                    dependencies.add(name);
+                } else if (imports.group(1) != null && known.contains(name.substring(0, Math.max(name.lastIndexOf('.'), 0)))) {
+                    dependencies.add(name.substring(0, name.lastIndexOf('.')));
+                }
+            }
+            String packagePrefix = className.substring(0, className.lastIndexOf('.') + 1);
+            Matcher words = WORD.matcher(source);
+            while (words.find()) {
+                String samePackage = packagePrefix + words.group();
+                if (known.contains(samePackage) && !samePackage.equals(className)) {
+                    dependencies.add(samePackage);
+                }
+            }
+            return dependencies;
+        }
+
+        /**
+         * The given classes and everything that depends on them, directly or transitively.
+         */
+        Set<String> dependentsOf(Set<String> classes) {
+            Set<String> affected = new HashSet<>(classes);
+            Deque<String> pending = new ArrayDeque<>(classes);
+            while (!pending.isEmpty()) {
+                for (String dependent : dependents.getOrDefault(pending.poll(), Set.of())) {
+                    if (affected.add(dependent)) {
+                        pending.add(dependent);
+                    }
+                }
+            }
+            return affected;
+        }
+    }
+}
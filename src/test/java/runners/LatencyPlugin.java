@@ -0,0 +1,76 @@
+package runners;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import utils.LatencyRecorder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records the duration of every Cucumber step, keyed by its step definition pattern. When the run
+ * finishes it writes the run-wide latency summary to {@value #SUMMARY_JSON} and attaches it to the
+ * Allure report. Step events arrive on the thread running the step, which is how the recorder
+ * matches WebDriver command time to the step.
+ */
+public class LatencyPlugin implements ConcurrentEventListener {
+
+    static final String SUMMARY_JSON = "target/latency-summary.json";
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!LatencyRecorder.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestStepStarted.class, event -> LatencyRecorder.startStep());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> onTestRunFinished());
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+        String name;
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            name = step.getPattern();
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            name = hook.getHookType() + " " + hook.getCodeLocation();
+        } else {
+            return;
+        }
+        LatencyRecorder.step(name, event.getResult().getDuration().toNanos());
+    }
+
+    private void onTestRunFinished() {
+        LatencyRecorder.writeRunSummary(Paths.get(SUMMARY_JSON));
+        attachRunSummary(LatencyRecorder.runSummary());
+    }
+
+    /**
+     * Allure attachments belong to a test, so the run summary gets a result of its own.
+     */
+    private static void attachRunSummary(String summary) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setName("Latency summary")
+                .setFullName(LatencyPlugin.class.getName() + ".runSummary")
+                .setStatus(Status.PASSED)
+                .setLabels(List.of(new Label().setName("suite").setValue("Run summary"))));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment("Latency summary", "application/json", ".json", summary.getBytes(StandardCharsets.UTF_8));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
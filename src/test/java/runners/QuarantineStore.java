@@ -0,0 +1,147 @@
+package runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FilePosition;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import utils.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Flakiness history of scenarios keyed by {@code uri:line}. The score is an exponential moving
+ * average over runs where a pass on retry counts 1 and a first-attempt pass counts 0; scenarios
+ * that failed every attempt leave it unchanged, since that is a failure rather than flakiness.
+ * Scenarios whose score reaches {@code quarantine.threshold} after {@code quarantine.minRuns}
+ * runs are quarantined.
+ */
+final class QuarantineStore {
+
+    private static final Logger logger = LogManager.getLogger(QuarantineStore.class);
+
+    private final Path path;
+    private final double decay;
+    private final double threshold;
+    private final int minRuns;
+    private final Map<String, Record> scenarios;
+
+    enum Outcome {PASSED, PASSED_ON_RETRY, FAILED}
+
+    record Record(String name, int runs, int flakyRuns, int failures, double score, String lastFlaky) {
+        Record next(String currentName, Outcome outcome, double decay) {
+            return switch (outcome) {
+                case PASSED -> new Record(currentName, runs + 1, flakyRuns, failures, score * (1 - decay), lastFlaky);
+                case PASSED_ON_RETRY -> new Record(currentName, runs + 1, flakyRuns + 1, failures,
+                        score * (1 - decay) + decay, Instant.now().toString());
+                case FAILED -> new Record(currentName, runs + 1, flakyRuns, failures + 1, score, lastFlaky);
+            };
+        }
+    }
+
+    private QuarantineStore(Path path, Map<String, Record> scenarios) {
+        this.path = path;
+        this.scenarios = scenarios;
+        this.decay = Double.parseDouble(ConfigManager.getProperty("quarantine.decay"));
+        this.threshold = Double.parseDouble(ConfigManager.getProperty("quarantine.threshold"));
+        this.minRuns = Integer.parseInt(ConfigManager.getProperty("quarantine.minRuns"));
+    }
+
+    static QuarantineStore load() {
+        Path path = Path.of(ConfigManager.getProperty("quarantine.store"));
+        Map<String, Record> scenarios = new TreeMap<>();
+        if (Files.isRegularFile(path)) {
+            try {
+                Map<String, Object> json = new Json().toType(Files.readString(path), Json.MAP_TYPE);
+                if (json.get("scenarios") instanceof Map<?, ?> stored) {
+                    stored.forEach((key, value) -> scenarios.put(String.valueOf(key), toRecord((Map<?, ?>) value)));
+                }
+            } catch (IOException | JsonException | ClassCastException e) {
+                logger.warn("Failed to read quarantine store {}. Starting with an empty one.", path, e);
+            }
+        }
+        return new QuarantineStore(path, scenarios);
+    }
+
+    void record(String key, String name, Outcome outcome) {
+        Record updated = scenarios.getOrDefault(key, new Record(name, 0, 0, 0, 0, null)).next(name, outcome, decay);
+        scenarios.put(key, updated);
+        if (outcome == Outcome.PASSED_ON_RETRY) {
+            logger.warn("Scenario {} ({}) passed on retry; flakiness score {}", key, name, String.format("%.2f", updated.score()));
+        }
+    }
+
+    Set<String> quarantined() {
+        return scenarios.entrySet().stream()
+                .filter(entry -> entry.getValue().runs() >= minRuns && entry.getValue().score() >= threshold)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    void save() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        scenarios.forEach((key, value) -> {
+            Map<String, Object> stored = new LinkedHashMap<>();
+            stored.put("name", value.name());
+            stored.put("runs", value.runs());
+            stored.put("flakyRuns", value.flakyRuns());
+            stored.put("failures", value.failures());
+            stored.put("score", value.score());
+            stored.put("lastFlaky", value.lastFlaky());
+            json.put(key, stored);
+        });
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, new Json().toJson(Map.of("scenarios", json)));
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing quarantine store to " + path, e);
+        }
+    }
+
+    /**
+     * Drops the given scenarios from discovery.
+     */
+    static PostDiscoveryFilter excluding(Set<String> keys) {
+        return descriptor -> scenarioKey(descriptor).filter(keys::contains)
+                .map(key -> FilterResult.excluded("Quarantined as flaky: " + key))
+                .orElseGet(() -> FilterResult.included("Not quarantined"));
+    }
+
+    /**
+     * Same {@code uri:line} form as the rerun file and the Cucumber JSON report.
+     */
+    private static Optional<String> scenarioKey(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof ClasspathResourceSource resource && resource.getPosition().isPresent()) {
+            return Optional.of("classpath:" + resource.getClasspathResourceName() + ":" + resource.getPosition().map(FilePosition::getLine).get());
+        }
+        if (source instanceof FileSource file && file.getPosition().isPresent()) {
+            return Optional.of(file.getFile().toURI() + ":" + file.getPosition().map(FilePosition::getLine).get());
+        }
+        return Optional.empty();
+    }
+
+    private static Record toRecord(Map<?, ?> value) {
+        return new Record(String.valueOf(value.get("name")), ((Number) value.get("runs")).intValue(),
+                ((Number) value.get("flakyRuns")).intValue(), ((Number) value.get("failures")).intValue(),
+                ((Number) value.get("score")).doubleValue(), value.get("lastFlaky") == null ? null : String.valueOf(value.get("lastFlaky")));
+    }
+}
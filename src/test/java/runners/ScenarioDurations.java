@@ -0,0 +1,82 @@
+package runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads scenario durations of a previous run from the Cucumber JSON report.
+ * Background steps are charged to the scenario they ran for.
+ */
+final class ScenarioDurations {
+
+    private static final Logger logger = LogManager.getLogger(ScenarioDurations.class);
+
+    private ScenarioDurations() {
+    }
+
+    static List<Timing> read(Path report) {
+        if (!Files.isRegularFile(report)) {
+            logger.warn("No previous report found at {}. Scenarios will run in discovery order.", report);
+            return List.of();
+        }
+        try {
+            List<Map<String, Object>> features = new Json().toType(Files.readString(report), Json.LIST_OF_MAPS_TYPE);
+            Map<String, Timing> timings = new LinkedHashMap<>();
+            for (Map<String, Object> feature : features) {
+                String uri = String.valueOf(feature.get("uri"));
+                long backgroundNanos = 0;
+                for (Map<String, Object> element : asList(feature.get("elements"))) {
+                    long nanos = durationOf(element.get("before")) + durationOf(element.get("steps")) + durationOf(element.get("after"));
+                    if ("background".equals(element.get("type"))) {
+                        backgroundNanos = nanos;
+                        continue;
+                    }
+                    int line = ((Number) element.get("line")).intValue();
+                    Timing timing = new Timing(uri, line, String.valueOf(element.get("name")), Duration.ofNanos(nanos + backgroundNanos));
+                    timings.merge(timing.key(), timing, (previous, current) -> previous.duration().compareTo(current.duration()) >= 0 ? previous : current);
+                    backgroundNanos = 0;
+                }
+            }
+            List<Timing> sorted = timings.values().stream()
+                    .sorted(Comparator.comparing(Timing::duration).reversed())
+                    .toList();
+            logger.info("Loaded durations of {} scenarios from {}", sorted.size(), report);
+            return sorted;
+        } catch (IOException | JsonException | ClassCastException e) {
+            logger.warn("Failed to read scenario durations from {}. Scenarios will run in discovery order.", report, e);
+            return List.of();
+        }
+    }
+
+    private static long durationOf(Object hooksOrSteps) {
+        long total = 0;
+        for (Map<String, Object> item : asList(hooksOrSteps)) {
+            if (item.get("result") instanceof Map<?, ?> result && result.get("duration") instanceof Number duration) {
+                total += duration.longValue();
+            }
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> asList(Object value) {
+        return value instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+    }
+
+    record Timing(String uri, int line, String name, Duration duration) {
+        String key() {
+            return uri + ":" + line;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package runners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.discovery.FilePosition;
+import org.junit.platform.launcher.EngineFilter;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import utils.ConfigManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+/**
+ * Runs the same suite as {@link TestRunner}, but submits scenarios longest-first
+ * based on the durations recorded in the previous Cucumber JSON report, so the
+ * slowest scenarios do not end up running alone at the end of a parallel run.
+ * Scenarios without a recorded duration are scheduled after the known ones.
+ * With {@code -Dimpact.base=<git ref>} only the scenarios affected by changes since that ref
+ * run, as chosen by {@link ImpactSelector}; runs without it record the impact map that
+ * selection relies on.
+ * Failed scenarios are written to a rerun file and retried in the same JVM up to
+ * {@code rerun.retries} times; the outcomes feed the {@link QuarantineStore}, whose chronically
+ * flaky scenarios run after the main run without deciding its result.
+ */
+public class ScheduledRunner {
+
+    private static final Logger logger = LogManager.getLogger(ScheduledRunner.class);
+    private static final String CLASSPATH_SCHEME = "classpath:";
+    private static final String FILE_SCHEME = "file:";
+    private static final String RERUN_FILE = "target/rerun.txt";
+    private static final String RERUN_REPORT_JSON = "target/cucumber-rerun-reports.json";
+    private static final Pattern RERUN_ENTRY = Pattern.compile("(.+?)((?::\\d+)+)");
+
+    public static void main(String[] args) {
+        Path history = Paths.get(System.getProperty("scheduler.history", TestRunner.REPORT_JSON));
+        String tags = System.getProperty(FILTER_TAGS_PROPERTY_NAME, TestRunner.TAGS);
+        String impactBase = System.getProperty("impact.base");
+        if (impactBase != null && !impactBase.isBlank()) {
+            ImpactSelector.Selection selection = ImpactSelector.select(impactBase, tags);
+            if (!selection.fullSuite() && selection.scenarios() == 0) {
+                logger.info("No scenario is affected by the changes since {}. Nothing to run.", impactBase);
+                return;
+            }
+            tags = selection.tags();
+        } else if (System.getProperty("impact.record") == null) {
+            // A run without impact selection is the instrumented run that refreshes the impact map.
+            ConfigManager.overrideProperty("impact.record", "true");
+        }
+
+        QuarantineStore quarantine = QuarantineStore.load();
+        Set<String> quarantined = Boolean.parseBoolean(ConfigManager.getProperty("quarantine.exclude")) ? quarantine.quarantined() : Set.of();
+        if (!quarantined.isEmpty()) {
+            logger.warn("Excluding {} quarantined scenario(s) from the run: {}", quarantined.size(), quarantined);
+        }
+
+        Path rerunFile = Paths.get(RERUN_FILE);
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(scheduleSelectors(ScenarioDurations.read(history)))
+                .filters(EngineFilter.includeEngines("cucumber"), QuarantineStore.excluding(quarantined))
+                .configurationParameter(GLUE_PROPERTY_NAME, TestRunner.GLUE)
+                .configurationParameter(PLUGIN_PROPERTY_NAME, TestRunner.PLUGINS + ",rerun:" + rerunFile)
+                .configurationParameter(FILTER_TAGS_PROPERTY_NAME, tags)
+                .build();
+
+        logger.info("Starting scheduled run with tags: {}", tags);
+        TestExecutionSummary summary = execute(request);
+        summary.printTo(new PrintWriter(System.out));
+
+        Set<String> failed = readRerunFile(rerunFile);
+        if (summary.getTotalFailureCount() > 0 && failed.isEmpty()) {
+            throw new IllegalStateException("Scheduled run finished with " + summary.getTotalFailureCount() + " failure(s) outside any scenario.");
+        }
+        Set<String> remaining = rerunFailed(failed, Integer.parseInt(ConfigManager.getProperty("rerun.retries")), tags);
+
+        Map<String, String> names = new HashMap<>();
+        ScenarioDurations.read(Paths.get(TestRunner.REPORT_JSON)).forEach(timing -> names.put(timing.key(), timing.name()));
+        names.forEach((key, name) -> quarantine.record(key, name, !failed.contains(key) ? QuarantineStore.Outcome.PASSED
+                : remaining.contains(key) ? QuarantineStore.Outcome.FAILED : QuarantineStore.Outcome.PASSED_ON_RETRY));
+        quarantine.save();
+
+        if (!quarantined.isEmpty()) {
+            runQuarantined(quarantined, quarantine, tags);
+        }
+        if (!remaining.isEmpty()) {
+            throw new IllegalStateException("Scheduled run finished with " + remaining.size() + " failed scenario(s) after retries: " + remaining);
+        }
+    }
+
+    /**
+     * Reruns the failed scenarios in this JVM until they pass or the retry budget is spent.
+     * Every scenario starts a fresh driver in {@link Hooks}, so a retry does not inherit the
+     * failed session.
+     *
+     * @return scenarios still failing after the last retry
+     */
+    private static Set<String> rerunFailed(Set<String> failed, int retries, String tags) {
+        Set<String> remaining = failed;
+        for (int attempt = 1; attempt <= retries && !remaining.isEmpty(); attempt++) {
+            logger.info("Retry {}/{} of {} failed scenario(s): {}", attempt, retries, remaining.size(), remaining);
+            Path rerunFile = Paths.get(RERUN_FILE.replace(".txt", "-" + attempt + ".txt"));
+            execute(rerunRequest(remaining, rerunFile, tags));
+            remaining = readRerunFile(rerunFile);
+        }
+        return remaining;
+    }
+
+    /**
+     * Runs quarantined scenarios off the critical path: their results only feed the store,
+     * so a scenario that becomes stable again can leave quarantine. The run's tag filter still
+     * applies, so only quarantined scenarios this run selected are executed.
+     */
+    private static void runQuarantined(Set<String> quarantined, QuarantineStore quarantine, String tags) {
+        logger.info("Running {} quarantined scenario(s) outside the critical path", quarantined.size());
+        Path rerunFile = Paths.get(RERUN_FILE.replace(".txt", "-quarantine.txt"));
+        execute(rerunRequest(quarantined, rerunFile, tags));
+        Set<String> failed = readRerunFile(rerunFile);
+        Map<String, String> names = new HashMap<>();
+        ScenarioDurations.read(Paths.get(RERUN_REPORT_JSON)).forEach(timing -> names.put(timing.key(), timing.name()));
+        names.forEach((key, name) -> {
+            if (failed.contains(key)) {
+                logger.warn("Quarantined scenario {} ({}) failed", key, name);
+            }
+            quarantine.record(key, name, failed.contains(key) ? QuarantineStore.Outcome.FAILED : QuarantineStore.Outcome.PASSED);
+        });
+        quarantine.save();
+    }
+
+    private static LauncherDiscoveryRequest rerunRequest(Set<String> scenarios, Path rerunFile, String tags) {
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        for (String scenario : scenarios) {
+            int separator = scenario.lastIndexOf(':');
+            selectors.add(toSelector(scenario.substring(0, separator), Integer.parseInt(scenario.substring(separator + 1))));
+        }
+        return LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectors)
+                .filters(EngineFilter.includeEngines("cucumber"))
+                .configurationParameter(GLUE_PROPERTY_NAME, TestRunner.GLUE)
+                .configurationParameter(PLUGIN_PROPERTY_NAME, "pretty,json:" + RERUN_REPORT_JSON
+                        + ",io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm,rerun:" + rerunFile)
+                .configurationParameter(FILTER_TAGS_PROPERTY_NAME, tags)
+                .build();
+    }
+
+    /**
+     * Reads Cucumber's rerun format, {@code uri:line[:line...]} per feature, as {@code uri:line} keys.
+     */
+    static Set<String> readRerunFile(Path rerunFile) {
+        Set<String> scenarios = new LinkedHashSet<>();
+        if (!Files.isRegularFile(rerunFile)) {
+            return scenarios;
+        }
+        try {
+            for (String entry : Files.readString(rerunFile).trim().split("\\s+")) {
+                Matcher matcher = RERUN_ENTRY.matcher(entry);
+                if (!matcher.matches()) {
+                    continue;
+                }
+                for (String line : matcher.group(2).substring(1).split(":")) {
+                    scenarios.add(matcher.group(1) + ":" + line);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading rerun file " + rerunFile, e);
+        }
+        return scenarios;
+    }
+
+    static TestExecutionSummary execute(LauncherDiscoveryRequest request) {
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        launcher.execute(request, listener);
+        return listener.getSummary();
+    }
+
+    private static List<DiscoverySelector> scheduleSelectors(List<ScenarioDurations.Timing> timings) {
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        for (ScenarioDurations.Timing timing : timings) {
+            logger.debug("Scheduling {} ({} ms): {}", timing.key(), timing.duration().toMillis(), timing.name());
+            selectors.add(toSelector(timing.uri(), timing.line()));
+        }
+        // Picks up scenarios that are new since the previous run; already selected ones are merged.
+        selectors.add(DiscoverySelectors.selectClasspathResource(TestRunner.FEATURES));
+        return selectors;
+    }
+
+    static DiscoverySelector toSelector(String uri, int line) {
+        FilePosition position = FilePosition.from(line);
+        if (uri.startsWith(CLASSPATH_SCHEME)) {
+            String resource = uri.substring(CLASSPATH_SCHEME.length());
+            return DiscoverySelectors.selectClasspathResource(resource.startsWith("/") ? resource.substring(1) : resource, position);
+        }
+        if (uri.startsWith(FILE_SCHEME)) {
+            return DiscoverySelectors.selectFile(Paths.get(URI.create(uri)).toFile(), position);
+        }
+        return DiscoverySelectors.selectFile(uri, position);
+    }
+}
@@ -1,21 +1,30 @@
 package runners;
 
-import io.cucumber.junit.Cucumber;
-import io.cucumber.junit.CucumberOptions;
-import org.junit.runner.RunWith;
+import org.junit.platform.suite.api.ConfigurationParameter;
+import org.junit.platform.suite.api.IncludeEngines;
+import org.junit.platform.suite.api.SelectClasspathResource;
+import org.junit.platform.suite.api.Suite;
 
-@RunWith(Cucumber.class)
-@CucumberOptions(
-        plugin = {
-                "pretty",
-                "html:target/cucumber-reports.html",
-                "json:target/cucumber-reports.json",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm"
-        },
-        features = "classpath:features",
-        glue = {"stepdefinitions", "runners"},
-        tags = "@web and @login"
-)
+import static io.cucumber.junit.platform.engine.Constants.FILTER_TAGS_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.GLUE_PROPERTY_NAME;
+import static io.cucumber.junit.platform.engine.Constants.PLUGIN_PROPERTY_NAME;
+
+@Suite
+@IncludeEngines("cucumber")
+@SelectClasspathResource(TestRunner.FEATURES)
+@ConfigurationParameter(key = PLUGIN_PROPERTY_NAME, value = TestRunner.PLUGINS)
+@ConfigurationParameter(key = GLUE_PROPERTY_NAME, value = TestRunner.GLUE)
+@ConfigurationParameter(key = FILTER_TAGS_PROPERTY_NAME, value = TestRunner.TAGS)
 
 public class TestRunner {
+    static final String FEATURES = "features";
+    static final String GLUE = "stepdefinitions,runners";
+    static final String TAGS = "@web and @login";
+    static final String REPORT_JSON = "target/cucumber-reports.json";
+    static final String PLUGINS = "pretty,"
+            + "html:target/cucumber-reports.html,"
+            + "json:" + REPORT_JSON + ","
+            + "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm,"
+            + "runners.LatencyPlugin,"
+            + "runners.ImpactMapPlugin";
 }
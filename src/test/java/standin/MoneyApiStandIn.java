@@ -0,0 +1,223 @@
+package standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded stand-in for the CatchyLabs money API, backed by in-memory balances.
+ * Every user owns a "Main Account" and a "Testinium-2" account; cards without an
+ * expiry date are rejected, mirroring the {@code invalidCard} entry in config.properties.
+ * <ul>
+ *     <li>{@code POST /api/login} {@code {username, password}} - returns {@code {token}}</li>
+ *     <li>{@code POST /api/money/add} {@code {cardNumber, cardHolder, expireDate, cvv, amount}} - returns {@code {balance}}</li>
+ *     <li>{@code POST /api/money/transfer} {@code {sender, receiver, amount}} - returns {@code {balance}}</li>
+ * </ul>
+ * Authenticated endpoints expect {@code Authorization: Bearer <token>}.
+ */
+public final class MoneyApiStandIn implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MoneyApiStandIn.class);
+
+    public static final String MAIN_ACCOUNT = "Main Account";
+    public static final String SECOND_ACCOUNT = "Testinium-2";
+
+    private static final Json JSON = new Json();
+
+    public static final String LOGIN_PATH = "/api/login";
+    public static final String ADD_MONEY_PATH = "/api/money/add";
+    public static final String TRANSFER_MONEY_PATH = "/api/money/transfer";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, String> usersByToken = new ConcurrentHashMap<>();
+    private final Map<String, Wallet> walletsByUser = new ConcurrentHashMap<>();
+    private final double initialBalance;
+
+    private MoneyApiStandIn(HttpServer server, double initialBalance) {
+        this.server = server;
+        this.initialBalance = initialBalance;
+    }
+
+    public static MoneyApiStandIn start(int port, double initialBalance) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            MoneyApiStandIn standIn = new MoneyApiStandIn(server, initialBalance);
+            server.createContext(LOGIN_PATH, standIn::login);
+            server.createContext(ADD_MONEY_PATH, standIn::addMoney);
+            server.createContext(TRANSFER_MONEY_PATH, standIn::transferMoney);
+            server.setExecutor(standIn.executor);
+            server.start();
+            logger.info("Money API stand-in started on: {}", standIn.baseUrl());
+            return standIn;
+        } catch (IOException e) {
+            logger.error("Failed to start money API stand-in on port: {}", port, e);
+            throw new RuntimeException("Error starting money API stand-in on port: " + port, e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public double balance(String username, String account) {
+        return wallet(username).balance(account);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        logger.info("Money API stand-in stopped.");
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        if (!isPost(exchange)) {
+            return;
+        }
+        Map<String, Object> body = readBody(exchange);
+        Object username = body.get("username");
+        Object password = body.get("password");
+        if (username == null || password == null || username.toString().isBlank()) {
+            respond(exchange, 400, Map.of("error", "username and password are required"));
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        usersByToken.put(token, username.toString());
+        respond(exchange, 200, Map.of("token", token));
+    }
+
+    private void addMoney(HttpExchange exchange) throws IOException {
+        String username = authenticate(exchange);
+        if (username == null || !isPost(exchange)) {
+            return;
+        }
+        Map<String, Object> body = readBody(exchange);
+        if (isBlank(body.get("cardNumber")) || isBlank(body.get("expireDate")) || isBlank(body.get("cvv"))) {
+            respond(exchange, 400, Map.of("error", "Invalid card"));
+            return;
+        }
+        double amount = amount(body);
+        if (amount <= 0) {
+            respond(exchange, 400, Map.of("error", "Amount must be positive"));
+            return;
+        }
+        respond(exchange, 200, Map.of("balance", wallet(username).add(MAIN_ACCOUNT, amount)));
+    }
+
+    private void transferMoney(HttpExchange exchange) throws IOException {
+        String username = authenticate(exchange);
+        if (username == null || !isPost(exchange)) {
+            return;
+        }
+        Map<String, Object> body = readBody(exchange);
+        String sender = String.valueOf(body.get("sender"));
+        String receiver = String.valueOf(body.get("receiver"));
+        double amount = amount(body);
+        Wallet wallet = wallet(username);
+        if (!wallet.hasAccount(sender) || !wallet.hasAccount(receiver) || amount <= 0) {
+            respond(exchange, 400, Map.of("error", "Invalid transfer"));
+            return;
+        }
+        Double balance = wallet.transfer(sender, receiver, amount);
+        if (balance == null) {
+            respond(exchange, 409, Map.of("error", "Insufficient funds"));
+            return;
+        }
+        respond(exchange, 200, Map.of("balance", balance));
+    }
+
+    private String authenticate(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        String username = header != null && header.startsWith("Bearer ") ? usersByToken.get(header.substring(7)) : null;
+        if (username == null) {
+            respond(exchange, 401, Map.of("error", "Unauthorized"));
+        }
+        return username;
+    }
+
+    private Wallet wallet(String username) {
+        return walletsByUser.computeIfAbsent(username, user -> new Wallet(initialBalance));
+    }
+
+    private static boolean isPost(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        respond(exchange, 405, Map.of("error", "Method not allowed"));
+        return false;
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || value.toString().isBlank();
+    }
+
+    private static double amount(Map<String, Object> body) {
+        try {
+            return Double.parseDouble(String.valueOf(body.get("amount")));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return body.isBlank() ? Map.of() : JSON.toType(body, Json.MAP_TYPE);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = JSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static final class Wallet {
+        private final Map<String, Double> balances = new LinkedHashMap<>();
+
+        private Wallet(double initialBalance) {
+            balances.put(MAIN_ACCOUNT, initialBalance);
+            balances.put(SECOND_ACCOUNT, 0.0);
+        }
+
+        synchronized boolean hasAccount(String account) {
+            return balances.containsKey(account);
+        }
+
+        synchronized double balance(String account) {
+            return balances.getOrDefault(account, 0.0);
+        }
+
+        synchronized double add(String account, double amount) {
+            return balances.merge(account, amount, Double::sum);
+        }
+
+        synchronized Double transfer(String sender, String receiver, double amount) {
+            double senderBalance = balances.get(sender);
+            if (senderBalance < amount) {
+                return null;
+            }
+            balances.put(sender, senderBalance - amount);
+            balances.merge(receiver, amount, Double::sum);
+            return balances.get(MAIN_ACCOUNT);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded replica of the CatchyLabs web client. Every path serves the same single-page
+ * application ({@value #PAGE_RESOURCE}), which routes between sign-in, dashboard and money
+ * transfer on the client and reproduces the DOM the page objects target.
+ */
+public final class WebClientStandIn implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebClientStandIn.class);
+
+    private static final String PAGE_RESOURCE = "standin/webclient.html";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final byte[] page;
+
+    private WebClientStandIn(HttpServer server, byte[] page) {
+        this.server = server;
+        this.page = page;
+    }
+
+    public static WebClientStandIn start(int port) {
+        try (InputStream in = WebClientStandIn.class.getClassLoader().getResourceAsStream(PAGE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Web client stand-in page not found on classpath: " + PAGE_RESOURCE);
+            }
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            WebClientStandIn standIn = new WebClientStandIn(server, in.readAllBytes());
+            server.createContext("/", standIn::serve);
+            server.setExecutor(standIn.executor);
+            server.start();
+            logger.info("Web client stand-in started on: {}", standIn.baseUrl());
+            return standIn;
+        } catch (IOException e) {
+            logger.error("Failed to start web client stand-in on port: {}", port, e);
+            throw new RuntimeException("Error starting web client stand-in on port: " + port, e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String loginUrl() {
+        return baseUrl() + "/signIn";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        logger.info("Web client stand-in stopped.");
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) || exchange.getRequestURI().getPath().equals("/favicon.ico")) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package stepdefinitions.main;
 
+import io.cucumber.java.Scenario;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -9,6 +10,7 @@ import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import runners.Hooks;
 import steps.main.MainSteps;
+import steps.main.WebVitals;
 
 public class MainStepDefinitions {
 
@@ -41,7 +43,7 @@ public class MainStepDefinitions {
     public void click_on_in_page(String key, String pageName) {
         logger.info("Attempting to click on element '{}' in page '{}'.", key, pageName);
         try {
-            mainSteps.clickElement(mainSteps.getLocator(key, pageName));
+            mainSteps.clickElement(mainSteps.getLocator(pageName, key));
             logger.info("Successfully clicked on element '{}' in page '{}'.", key, pageName);
         } catch (Exception e) {
             logger.error("Failed to click on element '{}' in page '{}'.", key, pageName, e);
@@ -53,7 +55,7 @@ public class MainStepDefinitions {
     public void send_keys_to_in_page(String keys, String key, String pageName) {
         logger.info("Attempting to send keys '{}' to element '{}' in page '{}'.", keys, key, pageName);
         try {
-            mainSteps.sendKeysToElement(mainSteps.getLocator(key, pageName), keys);
+            mainSteps.sendKeysToElement(mainSteps.getLocator(pageName, key), keys);
             logger.info("Successfully sent keys '{}' to element '{}' in page '{}'.", keys, key, pageName);
         } catch (Exception e) {
             logger.error("Failed to send keys '{}' to element '{}' in page '{}'.", keys, key, pageName, e);
@@ -65,7 +67,7 @@ public class MainStepDefinitions {
     public void select_from_dropdown_in_page(String visibleText, String key, String pageName) {
         logger.info("Attempting to select '{}' from dropdown '{}' in page '{}'.", visibleText, key, pageName);
         try {
-            mainSteps.selectDropdownByText(mainSteps.getLocator(key, pageName), visibleText);
+            mainSteps.selectDropdownByText(mainSteps.getLocator(pageName, key), visibleText);
             logger.info("Successfully selected '{}' from dropdown '{}' in page '{}'.", visibleText, key, pageName);
         } catch (Exception e) {
             logger.error("Failed to select '{}' from dropdown '{}' in page '{}'.", visibleText, key, pageName, e);
@@ -77,7 +79,7 @@ public class MainStepDefinitions {
     public void verify_is_displayed_in_page(String key, String pageName) {
         logger.info("Verifying that element '{}' is displayed in page '{}'.", key, pageName);
         try {
-            mainSteps.verifyElementIsDisplayed(mainSteps.getLocator(key, pageName));
+            mainSteps.verifyElementIsDisplayed(mainSteps.getLocator(pageName, key));
             logger.info("Element '{}' is displayed in page '{}'.", key, pageName);
         } catch (Exception e) {
             logger.error("Failed to verify element '{}' in page '{}'.", key, pageName, e);
@@ -89,7 +91,7 @@ public class MainStepDefinitions {
     public void scroll_to_in_page(String key, String pageName) {
         logger.info("Attempting to scroll to element '{}' in page '{}'.", key, pageName);
         try {
-            mainSteps.scrollToElement(mainSteps.getLocator(key, pageName));
+            mainSteps.scrollToElement(mainSteps.getLocator(pageName, key));
             logger.info("Successfully scrolled to element '{}' in page '{}'.", key, pageName);
         } catch (Exception e) {
             logger.error("Failed to scroll to element '{}' in page '{}'.", key, pageName, e);
@@ -101,11 +103,78 @@ public class MainStepDefinitions {
     public void click_using_js_on_in_page(String key, String pageName) {
         logger.info("Attempting to click using JavaScript on element '{}' in page '{}'.", key, pageName);
         try {
-            mainSteps.jsClickElement(mainSteps.getLocator(key, pageName));
+            mainSteps.jsClickElement(mainSteps.getLocator(pageName, key));
             logger.info("Successfully clicked using JavaScript on element '{}' in page '{}'.", key, pageName);
         } catch (Exception e) {
             logger.error("Failed to click using JavaScript on element '{}' in page '{}'.", key, pageName, e);
             throw new AssertionError("Failed to click using JavaScript on element: " + key + " in page: " + pageName, e);
         }
     }
+
+    @Then("page {string} loads within {int} ms")
+    public void page_loads_within(String pageName, int budgetMs) {
+        logger.info("Verifying that page '{}' loads within {} ms.", pageName, budgetMs);
+        long elapsed;
+        try {
+            elapsed = mainSteps.measurePageLoad(pageName);
+        } catch (Exception e) {
+            logger.error("Failed to measure load time of page '{}'.", pageName, e);
+            throw new AssertionError("Failed to measure load time of page: " + pageName, e);
+        }
+        attach("Page load: " + pageName, pageName + " loaded in " + elapsed + " ms (budget " + budgetMs + " ms)");
+        if (elapsed > budgetMs) {
+            logger.error("Page '{}' loaded in {} ms, budget is {} ms.", pageName, elapsed, budgetMs);
+            throw new AssertionError("Page " + pageName + " loaded in " + elapsed + " ms, budget is " + budgetMs + " ms");
+        }
+        logger.info("Page '{}' loaded in {} ms.", pageName, elapsed);
+    }
+
+    @Then("initial page {word} is below {int} ms")
+    public void metric_is_below_ms(String metric, int budgetMs) {
+        verifyMetricBelow(metric, budgetMs, " ms");
+    }
+
+    @Then("initial page CLS is below {double}")
+    public void cls_is_below(double budget) {
+        verifyMetricBelow("CLS", budget, "");
+    }
+
+    /**
+     * Web vitals are observed from the document opened by the last navigation; LCP stops at the
+     * first user input, so these describe the initial page load, not later in-app transitions.
+     */
+    private void verifyMetricBelow(String metric, double budget, String unit) {
+        logger.info("Verifying that {} is below {}{}.", metric, budget, unit);
+        WebVitals vitals;
+        try {
+            vitals = mainSteps.collectWebVitals();
+        } catch (Exception e) {
+            logger.error("Failed to collect web vitals for {}.", metric, e);
+            throw new AssertionError("Failed to collect web vitals for: " + metric, e);
+        }
+        attach("Web vitals", vitals.toString());
+        Double value;
+        try {
+            value = vitals.get(metric);
+        } catch (IllegalArgumentException e) {
+            logger.error("Unknown performance metric: {}", metric, e);
+            throw new AssertionError("Unknown performance metric: " + metric, e);
+        }
+        if (value == null) {
+            logger.error("{} was not reported by the browser.", metric);
+            throw new AssertionError(metric + " was not reported by the browser.");
+        }
+        if (value >= budget) {
+            logger.error("{} is {}{}, budget is {}{}.", metric, value, unit, budget, unit);
+            throw new AssertionError(metric + " is " + value + unit + ", budget is " + budget + unit);
+        }
+        logger.info("{} is {}{}.", metric, value, unit);
+    }
+
+    private void attach(String name, String text) {
+        Scenario scenario = Hooks.getScenario();
+        if (scenario != null) {
+            scenario.attach(text, "text/plain", name);
+        }
+    }
 }
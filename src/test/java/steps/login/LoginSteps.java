@@ -3,18 +3,25 @@ package steps.login;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pages.login.LoginPage;
+import pages.money.TransferMoneyPage;
 import runners.Hooks;
 import steps.main.MainSteps;
 import utils.ConfigManager;
+import utils.ConfigSnapshot;
+import utils.SessionCache;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.HexFormat;
 
 public class LoginSteps extends MainSteps {
 
     private static final Logger logger = LoggerFactory.getLogger(LoginSteps.class);
+    // Opt-in: every scenario logs out, so cached sessions only help where the site keeps tokens valid after logout.
+    private static final boolean SESSION_CACHE_ENABLED = Boolean.parseBoolean(ConfigManager.getProperty("login.sessionCache"));
+    private static final Duration SESSION_VERIFY_TIMEOUT = Duration.ofSeconds(5);
     private final String loginUrl;
 
     public LoginSteps() {
@@ -33,9 +40,16 @@ public class LoginSteps extends MainSteps {
     public void performLogin(String userKey) {
         logger.info("Starting login for user: {}", userKey);
         String username = getUsername(userKey);
+        String sessionKey = userKey + ":" + username;
+        if (SESSION_CACHE_ENABLED && restoreSession(sessionKey)) {
+            return;
+        }
         String password = getPassword(userKey);
         login(username, password);
         navigateToMoneyTransfer();
+        if (SESSION_CACHE_ENABLED) {
+            captureSession(sessionKey);
+        }
     }
 
     public void performLogout() {
@@ -45,7 +59,8 @@ public class LoginSteps extends MainSteps {
     }
 
     private String getUsername(String userKey) {
-        String username = ConfigManager.getNestedProperty("user", userKey, "username");
+        ConfigSnapshot.User user = ConfigManager.getUser(userKey);
+        String username = user == null ? null : user.username();
         if (username == null || username.isEmpty()) {
             throw new IllegalArgumentException("Username not configured for userKey: " + userKey);
         }
@@ -53,7 +68,8 @@ public class LoginSteps extends MainSteps {
     }
 
     private String getPassword(String userKey) {
-        String password = ConfigManager.getNestedProperty("user", userKey, "password");
+        ConfigSnapshot.User user = ConfigManager.getUser(userKey);
+        String password = user == null ? null : user.password();
         if (password == null || password.isEmpty()) {
             throw new IllegalArgumentException("Password not configured for userKey: " + userKey);
         }
@@ -72,6 +88,37 @@ public class LoginSteps extends MainSteps {
         clickElement(LoginPage.MONEY_TRANSFER_BUTTON);
     }
 
+    private boolean restoreSession(String sessionKey) {
+        SessionCache.Snapshot snapshot = SessionCache.get(sessionKey);
+        if (snapshot == null) {
+            return false;
+        }
+        logger.info("Restoring cached session for: {}", sessionKey);
+        try {
+            SessionCache.restore(driver, snapshot);
+            goToUrl(snapshot.url());
+            if (isElementVisibleWithin(TransferMoneyPage.TRANSFER_MONEY_BUTTON, SESSION_VERIFY_TIMEOUT)) {
+                logger.info("Cached session accepted. Skipped UI login.");
+                return true;
+            }
+            logger.warn("Cached session was rejected. Falling back to UI login.");
+        } catch (Exception e) {
+            logger.warn("Failed to restore cached session. Falling back to UI login.", e);
+        }
+        SessionCache.invalidate(sessionKey);
+        SessionCache.clear(driver);
+        goToUrl(loginUrl);
+        return false;
+    }
+
+    private void captureSession(String sessionKey) {
+        if (isElementVisibleWithin(TransferMoneyPage.TRANSFER_MONEY_BUTTON, SESSION_VERIFY_TIMEOUT)) {
+            SessionCache.capture(driver, sessionKey);
+        } else {
+            logger.warn("Money transfer page not ready, session snapshot not captured for: {}", sessionKey);
+        }
+    }
+
     private void logout() {
         clickElement(LoginPage.LogoutPage.BACK_BUTTON);
         clickElement(LoginPage.LogoutPage.LOGOUT_BUTTON);
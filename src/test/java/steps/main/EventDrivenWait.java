@@ -0,0 +1,196 @@
+package steps.main;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Waits for element and page conditions inside the browser: a {@code MutationObserver}
+ * (plus a short in-page interval for pure style changes) completes an async script as soon
+ * as the condition holds, instead of polling from Java every 500 ms. The element reported
+ * by the browser is confirmed with WebDriver's own visibility check. Locators the script
+ * cannot evaluate, or drivers without async script support, use {@link WebDriverWait}.
+ */
+final class EventDrivenWait {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventDrivenWait.class);
+    private static final Duration POLLING_INTERVAL = Duration.ofMillis(500);
+    private static final String VISIBLE = "visible";
+    private static final String CLICKABLE = "clickable";
+
+    private static final String ELEMENT_SCRIPT = """
+            const [using, value, condition, timeoutMs] = arguments;
+            const done = arguments[arguments.length - 1];
+            const find = () => using === 'xpath'
+                ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue
+                : document.querySelector(value);
+            const isVisible = (element) => {
+                if (element.getClientRects().length === 0) {
+                    return false;
+                }
+                if (typeof element.checkVisibility === 'function') {
+                    return element.checkVisibility({opacityProperty: true, visibilityProperty: true});
+                }
+                const style = window.getComputedStyle(element);
+                return style.visibility !== 'hidden' && parseFloat(style.opacity) > 0;
+            };
+            const check = () => {
+                const element = find();
+                if (!element || !isVisible(element)) {
+                    return null;
+                }
+                return condition === 'clickable' && element.disabled ? null : element;
+            };
+            const found = check();
+            if (found) {
+                done(found);
+                return;
+            }
+            let finished = false;
+            const observer = new MutationObserver(() => finishIfFound());
+            const interval = setInterval(() => finishIfFound(), 100);
+            const timer = setTimeout(() => finish(check()), timeoutMs);
+            function finish(result) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                observer.disconnect();
+                clearInterval(interval);
+                clearTimeout(timer);
+                done(result);
+            }
+            function finishIfFound() {
+                const element = check();
+                if (element) {
+                    finish(element);
+                }
+            }
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            """;
+
+    private static final String READY_STATE_SCRIPT = """
+            const timeoutMs = arguments[0];
+            const done = arguments[arguments.length - 1];
+            if (document.readyState === 'complete') {
+                done(true);
+                return;
+            }
+            const listener = () => {
+                if (document.readyState === 'complete') {
+                    clearTimeout(timer);
+                    document.removeEventListener('readystatechange', listener);
+                    done(true);
+                }
+            };
+            const timer = setTimeout(() => {
+                document.removeEventListener('readystatechange', listener);
+                done(document.readyState === 'complete');
+            }, timeoutMs);
+            document.addEventListener('readystatechange', listener);
+            """;
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    EventDrivenWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    WebElement untilVisible(By locator) {
+        return untilElement(locator, VISIBLE, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    WebElement untilClickable(By locator) {
+        return untilElement(locator, CLICKABLE, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    void untilPageLoaded() {
+        ExpectedCondition<Boolean> pageLoaded = webDriver -> "complete".equals(
+                ((JavascriptExecutor) webDriver).executeScript("return document.readyState"));
+        if (!(driver instanceof JavascriptExecutor jsExecutor)) {
+            poll(pageLoaded, timeout);
+            return;
+        }
+        try {
+            Object result = jsExecutor.executeAsyncScript(READY_STATE_SCRIPT, timeout.toMillis());
+            if (!Boolean.TRUE.equals(result)) {
+                throw timeoutException("document.readyState to be complete", null);
+            }
+        } catch (ScriptTimeoutException e) {
+            throw timeoutException("document.readyState to be complete", e);
+        } catch (JavascriptException | UnsupportedCommandException e) {
+            logger.debug("Event-driven page load wait is unavailable, falling back to polling.", e);
+            poll(pageLoaded, timeout);
+        }
+    }
+
+    /**
+     * Converts a locator to the {@code [using, value]} pair understood by in-page scripts,
+     * or returns {@code null} when it is neither an XPath nor a CSS selector.
+     */
+    static List<Object> scriptLocator(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if ("xpath".equals(parameters.using()) || "css selector".equals(parameters.using())) {
+                List<Object> scriptLocator = new ArrayList<>();
+                scriptLocator.add(parameters.using());
+                scriptLocator.add(String.valueOf(parameters.value()));
+                return scriptLocator;
+            }
+        }
+        return null;
+    }
+
+    private WebElement untilElement(By locator, String condition, ExpectedCondition<WebElement> fallback) {
+        List<Object> scriptLocator = scriptLocator(locator);
+        if (scriptLocator == null || !(driver instanceof JavascriptExecutor jsExecutor)) {
+            return poll(fallback, timeout);
+        }
+
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = jsExecutor.executeAsyncScript(ELEMENT_SCRIPT, scriptLocator.get(0), scriptLocator.get(1), condition, timeout.toMillis());
+        } catch (ScriptTimeoutException e) {
+            throw timeoutException(fallback.toString(), e);
+        } catch (JavascriptException | UnsupportedCommandException e) {
+            logger.debug("Event-driven wait is unavailable for locator: {}, falling back to polling.", locator, e);
+            return poll(fallback, timeout);
+        }
+
+        if (!(result instanceof WebElement element)) {
+            throw timeoutException(fallback.toString(), null);
+        }
+        if (element.isDisplayed() && (!CLICKABLE.equals(condition) || element.isEnabled())) {
+            return element;
+        }
+        Duration remaining = timeout.minusNanos(System.nanoTime() - startNanos);
+        logger.debug("Browser reported {} for locator: {} before WebDriver did, polling for the remaining {} ms.", condition, locator, remaining.toMillis());
+        return poll(fallback, remaining.isNegative() ? Duration.ZERO : remaining);
+    }
+
+    private <T> T poll(ExpectedCondition<T> condition, Duration waitTimeout) {
+        return new WebDriverWait(driver, waitTimeout, POLLING_INTERVAL).until(condition);
+    }
+
+    private TimeoutException timeoutException(String condition, Throwable cause) {
+        return new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d second(s) with %d milliseconds interval)",
+                condition, timeout.getSeconds(), POLLING_INTERVAL.toMillis()), cause);
+    }
+}
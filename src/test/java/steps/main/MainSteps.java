@@ -2,24 +2,106 @@ package steps.main;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pages.main.PageLoader;
+import utils.ConfigManager;
+import utils.NetworkIdleTracker;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MainSteps {
 
     private static final Logger logger = LoggerFactory.getLogger(MainSteps.class);
     private static final Duration TIMEOUT = Duration.ofSeconds(15);
-    private static Map<String, Map<String, By>> locators;
+    private static final ThreadLocal<Boolean> fastFillEnabled =
+            ThreadLocal.withInitial(() -> Boolean.parseBoolean(ConfigManager.getProperty("input.fastFill")));
+    private static final boolean NETWORK_IDLE_READINESS = "networkIdle".equalsIgnoreCase(ConfigManager.getProperty("page.readiness"));
+    private static final Duration DEFAULT_NETWORK_QUIET_WINDOW = Duration.ofMillis(500);
+    private static final Duration NETWORK_QUIET_WINDOW = networkQuietWindow();
+    private static final String SNAPSHOT_SCRIPT = """
+            const [locators, attributeNames] = arguments;
+            return locators.map(([using, value]) => {
+                const element = using === 'xpath'
+                    ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue
+                    : document.querySelector(value);
+                if (!element) {
+                    return {present: false, displayed: false, text: '', attributes: {}};
+                }
+                const style = window.getComputedStyle(element);
+                const displayed = element.getClientRects().length > 0 && style.visibility !== 'hidden';
+                const attributes = {};
+                attributeNames.forEach(name => attributes[name] = element.getAttribute(name));
+                return {present: true, displayed, text: displayed ? element.innerText.trim() : '', attributes};
+            });
+            """;
+    private static final String FAST_FILL_SCRIPT = """
+            const fields = arguments[0];
+            const missing = [];
+            for (let i = 0; i < fields.length; i++) {
+                const [using, value, text] = fields[i];
+                const element = using === 'xpath'
+                    ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue
+                    : document.querySelector(value);
+                if (!element) {
+                    missing.push(i);
+                    continue;
+                }
+                const prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;
+                element.focus();
+                Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, text);
+                element.dispatchEvent(new Event('input', {bubbles: true}));
+                element.dispatchEvent(new Event('change', {bubbles: true}));
+                element.blur();
+            }
+            return missing;
+            """;
+    /*
+     * Observers are installed once per document with buffered: true, so entries recorded before
+     * installation (navigation, first paint, early layout shifts) are still delivered.
+     */
+    private static final String WEB_VITALS_SCRIPT = """
+            const [waitForBuffered, done] = arguments;
+            const fresh = !window.__webVitals;
+            if (fresh) {
+                const vitals = window.__webVitals = {fcp: null, lcp: null, cls: 0, longTaskCount: 0, longTaskMs: 0};
+                const observe = (type, onEntry) => {
+                    try {
+                        new PerformanceObserver(list => list.getEntries().forEach(onEntry)).observe({type, buffered: true});
+                    } catch (e) {
+                        // entry type not supported by this browser
+                    }
+                };
+                observe('paint', entry => { if (entry.name === 'first-contentful-paint') vitals.fcp = entry.startTime; });
+                observe('largest-contentful-paint', entry => vitals.lcp = entry.renderTime || entry.loadTime || entry.startTime);
+                observe('layout-shift', entry => { if (!entry.hadRecentInput) vitals.cls += entry.value; });
+                observe('longtask', entry => { vitals.longTaskCount++; vitals.longTaskMs += entry.duration; });
+            }
+            setTimeout(() => {
+                const navigation = performance.getEntriesByType('navigation')[0];
+                done(Object.assign({}, window.__webVitals, navigation ? {
+                    ttfb: navigation.responseStart - navigation.startTime,
+                    domContentLoaded: navigation.domContentLoadedEventEnd || null,
+                    load: navigation.loadEventEnd || null
+                } : {}));
+            }, fresh && waitForBuffered ? 100 : 0);
+            """;
+    private static final ThreadLocal<Long> transitionStart = new ThreadLocal<>();
     protected final WebDriver driver;
+    private final EventDrivenWait eventDrivenWait;
+    private final Map<By, WebElement> elementCache = new HashMap<>();
 
     public MainSteps(WebDriver driver) {
         if (driver == null) {
@@ -27,6 +109,7 @@ public class MainSteps {
             throw new IllegalStateException("WebDriver is not initialized.");
         }
         this.driver = driver;
+        this.eventDrivenWait = new EventDrivenWait(driver, TIMEOUT);
         logger.info("MainSteps initialized with WebDriver.");
     }
 
@@ -34,7 +117,7 @@ public class MainSteps {
         logger.info("Retrieving locator for key '{}' on page '{}'.", key, pageName);
         try {
             By locator = PageLoader.getLocator(pageName, key);
-            WebElement element = waitForElementToBeVisible(locator);
+            WebElement element = findVisibleElement(locator);
             scrollToElement(element);
             return locator;
         } catch (IllegalArgumentException e) {
@@ -46,8 +129,15 @@ public class MainSteps {
     public void goToUrl(String url) {
         logger.info("Navigating to URL: {}", url);
         try {
+            elementCache.clear();
+            NetworkIdleTracker networkIdleTracker = NETWORK_IDLE_READINESS ? NetworkIdleTracker.forDriver(driver) : null;
+            transitionStart.set(System.nanoTime());
             driver.get(url);
             waitForPageToLoad();
+            installWebVitals();
+            if (networkIdleTracker != null) {
+                waitForNetworkIdle(networkIdleTracker);
+            }
             logger.info("Successfully navigated to URL: {}", url);
         } catch (Exception e) {
             logger.error("Failed to navigate to URL: {}", url, e);
@@ -58,7 +148,8 @@ public class MainSteps {
     public void clickElement(By locator) {
         logger.info("Entering method: clickElement with locator: {}", locator);
         try {
-            WebElement element = waitForElementToBeClickable(locator);
+            WebElement element = findClickableElement(locator);
+            transitionStart.set(System.nanoTime());
             element.click();
             logger.info("Clicked element located by: {}", locator);
         } catch (Exception e) {
@@ -70,8 +161,9 @@ public class MainSteps {
     public void jsClickElement(By locator) {
         logger.info("Entering method: jsClickElement with locator: {}", locator);
         try {
-            WebElement element = waitForElementToBeVisible(locator);
+            WebElement element = findVisibleElement(locator);
             JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
+            transitionStart.set(System.nanoTime());
             jsExecutor.executeScript("arguments[0].click();", element);
             logger.info("Performed JavaScript click on element located by: {}", locator);
         } catch (Exception e) {
@@ -95,7 +187,7 @@ public class MainSteps {
     public void scrollToElement(By locator) {
         logger.info("Entering method: scrollToElement with locator: {}", locator);
         try {
-            WebElement element = waitForElementToBeVisible(locator);
+            WebElement element = findVisibleElement(locator);
             JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
             jsExecutor.executeScript("arguments[0].scrollIntoView(true);", element);
             logger.info("Scrolled to element located by: {}", locator);
@@ -107,7 +199,7 @@ public class MainSteps {
 
     public String getTextFromElement(By locator) {
         logger.info("Retrieving text from element located by: {}", locator);
-        WebElement element = waitForElementToBeVisible(locator);
+        WebElement element = findVisibleElement(locator);
         String text = element.getText();
         logger.info("Text retrieved from element: {}", text);
         return text;
@@ -116,7 +208,7 @@ public class MainSteps {
     public void sendKeysToElement(By locator, String text) {
         logger.info("Entering method: sendKeysToElement with locator: {} and text: '{}'", locator, text);
         try {
-            WebElement element = waitForElementToBeVisible(locator);
+            WebElement element = findVisibleElement(locator);
             element.clear();
             element.sendKeys(text);
             logger.info("Sent keys '{}' to element located by: {}", text, locator);
@@ -126,12 +218,183 @@ public class MainSteps {
         }
     }
 
+    /**
+     * Fills several inputs in a single script execution. Values are set through the native
+     * value setter followed by {@code input} and {@code change} events, which is what the
+     * React Native Web inputs listen to. Fields that are not rendered yet, locators that
+     * cannot be resolved in the page, and scenarios running with fast fill disabled fall
+     * back to {@link #sendKeysToElement(By, String)}.
+     */
+    public void fillFields(Map<By, String> fields) {
+        logger.info("Entering method: fillFields with {} field(s), fastFill: {}", fields.size(), isFastFillEnabled());
+        List<By> remaining = new ArrayList<>();
+        List<List<Object>> scriptFields = new ArrayList<>();
+        List<By> scriptLocators = new ArrayList<>();
+
+        for (By locator : fields.keySet()) {
+            List<Object> parameters = isFastFillEnabled() ? EventDrivenWait.scriptLocator(locator) : null;
+            if (parameters == null) {
+                remaining.add(locator);
+            } else {
+                parameters.add(fields.get(locator));
+                scriptFields.add(parameters);
+                scriptLocators.add(locator);
+            }
+        }
+
+        if (!scriptFields.isEmpty()) {
+            try {
+                findVisibleElement(scriptLocators.get(0));
+                Object missing = ((JavascriptExecutor) driver).executeScript(FAST_FILL_SCRIPT, scriptFields);
+                int missingCount = 0;
+                if (missing instanceof List<?> missingIndexes) {
+                    for (Object index : missingIndexes) {
+                        remaining.add(scriptLocators.get(((Number) index).intValue()));
+                    }
+                    missingCount = missingIndexes.size();
+                }
+                logger.info("Filled {} field(s) in a single script execution.", scriptFields.size() - missingCount);
+            } catch (Exception e) {
+                logger.error("Failed to fill fields with a script.", e);
+                throw new RuntimeException("Error filling fields: " + scriptLocators, e);
+            }
+        }
+
+        for (By locator : remaining) {
+            sendKeysToElement(locator, fields.get(locator));
+        }
+    }
+
+    /**
+     * Reads text, visibility and the requested attributes of all locators with a single
+     * script execution. Locators that are not XPath or CSS are read through WebDriver.
+     */
+    @SuppressWarnings("unchecked")
+    public PageSnapshot takeSnapshot(Collection<By> locators, String... attributeNames) {
+        logger.info("Taking snapshot of {} element(s).", locators.size());
+        Map<By, PageSnapshot.ElementState> states = new LinkedHashMap<>();
+        List<By> scriptLocators = new ArrayList<>();
+        List<List<Object>> scriptParameters = new ArrayList<>();
+        for (By locator : locators) {
+            List<Object> parameters = EventDrivenWait.scriptLocator(locator);
+            if (parameters == null) {
+                states.put(locator, readElementState(locator, attributeNames));
+            } else {
+                scriptLocators.add(locator);
+                scriptParameters.add(parameters);
+            }
+        }
+
+        if (!scriptParameters.isEmpty()) {
+            List<Map<String, Object>> results = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                    .executeScript(SNAPSHOT_SCRIPT, scriptParameters, List.of(attributeNames));
+            for (int i = 0; i < scriptLocators.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                Map<String, String> attributes = new HashMap<>();
+                ((Map<String, Object>) result.get("attributes")).forEach((name, value) -> attributes.put(name, value == null ? null : String.valueOf(value)));
+                states.put(scriptLocators.get(i), new PageSnapshot.ElementState(
+                        Boolean.TRUE.equals(result.get("present")),
+                        Boolean.TRUE.equals(result.get("displayed")),
+                        String.valueOf(result.get("text")),
+                        attributes));
+            }
+        }
+        logger.debug("Snapshot taken: {}", states);
+        return new PageSnapshot(states);
+    }
+
+    /**
+     * Takes a snapshot once every locator is visible, waiting only for the elements that
+     * are still missing.
+     */
+    public PageSnapshot takeSnapshotWhenVisible(Collection<By> locators, String... attributeNames) {
+        PageSnapshot snapshot = takeSnapshot(locators, attributeNames);
+        for (By locator : locators) {
+            if (!snapshot.isDisplayed(locator)) {
+                findVisibleElement(locator);
+                snapshot = takeSnapshot(locators, attributeNames);
+            }
+        }
+        return snapshot;
+    }
+
+    private PageSnapshot.ElementState readElementState(By locator, String... attributeNames) {
+        List<WebElement> elements = driver.findElements(locator);
+        if (elements.isEmpty()) {
+            return PageSnapshot.ElementState.MISSING;
+        }
+        WebElement element = elements.get(0);
+        Map<String, String> attributes = new HashMap<>();
+        for (String name : attributeNames) {
+            attributes.put(name, element.getDomAttribute(name));
+        }
+        return new PageSnapshot.ElementState(true, element.isDisplayed(), element.getText(), attributes);
+    }
+
+    /**
+     * Reads Navigation Timing and Web Vitals of the current document, installing the
+     * observers first if this document has none yet.
+     */
+    @SuppressWarnings("unchecked")
+    public WebVitals collectWebVitals() {
+        logger.info("Collecting web vitals.");
+        try {
+            WebVitals vitals = WebVitals.from((Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(WEB_VITALS_SCRIPT, true));
+            logger.info("Web vitals collected: {}", vitals);
+            return vitals;
+        } catch (Exception e) {
+            logger.error("Failed to collect web vitals.", e);
+            throw new RuntimeException("Error collecting web vitals.", e);
+        }
+    }
+
+    private void installWebVitals() {
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(WEB_VITALS_SCRIPT, false);
+        } catch (WebDriverException e) {
+            logger.warn("Failed to install web vitals observers.", e);
+        }
+    }
+
+    /**
+     * Milliseconds from the last navigation or click on this thread until the page's entry
+     * locator is visible.
+     */
+    public long measurePageLoad(String pageName) {
+        logger.info("Measuring load time of page: {}", pageName);
+        Long start = transitionStart.get();
+        if (start == null) {
+            throw new IllegalStateException("No navigation or click recorded before measuring page load of: " + pageName);
+        }
+        // A cached handle from before the transition would end the measurement immediately.
+        By entry = PageLoader.getEntryLocator(pageName);
+        elementCache.remove(entry);
+        elementCache.put(entry, waitForElementToBeVisible(entry));
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        logger.info("Page {} loaded in {} ms", pageName, elapsed);
+        return elapsed;
+    }
+
+    public static void resetTransition() {
+        transitionStart.remove();
+    }
+
+    public static boolean isFastFillEnabled() {
+        return fastFillEnabled.get();
+    }
+
+    public static void setFastFillEnabled(boolean enabled) {
+        fastFillEnabled.set(enabled);
+    }
+
+    public static void resetFastFill() {
+        fastFillEnabled.remove();
+    }
+
     public void waitForPageToLoad() {
         logger.info("Entering method: waitForPageToLoad");
         try {
-            new WebDriverWait(driver, TIMEOUT)
-                    .until(webDriver -> "complete".equals(
-                            ((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
+            eventDrivenWait.untilPageLoaded();
             logger.info("Page loaded successfully.");
         } catch (Exception e) {
             logger.error("Failed to wait for page load.", e);
@@ -139,22 +402,91 @@ public class MainSteps {
         }
     }
 
+    /**
+     * Returns the cached handle for the locator while it is still attached and visible,
+     * otherwise waits for the element once and caches the fresh handle.
+     */
+    private WebElement findVisibleElement(By locator) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed()) {
+                    logger.debug("Reusing cached element handle for locator: {}", locator);
+                    return cached;
+                }
+            } catch (StaleElementReferenceException e) {
+                logger.debug("Cached element handle is stale, resolving again. Locator: {}", locator);
+            }
+            elementCache.remove(locator);
+        }
+        WebElement element = waitForElementToBeVisible(locator);
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    private WebElement findClickableElement(By locator) {
+        WebElement element = findVisibleElement(locator);
+        if (element.isEnabled()) {
+            return element;
+        }
+        element = waitForElementToBeClickable(locator);
+        elementCache.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Checks for a visible element with a custom timeout, without failing the step.
+     */
+    protected boolean isElementVisibleWithin(By locator, Duration timeout) {
+        logger.info("Checking whether element located by: {} is visible within {} ms", locator, timeout.toMillis());
+        try {
+            elementCache.put(locator, new EventDrivenWait(driver, timeout).untilVisible(locator));
+            return true;
+        } catch (TimeoutException e) {
+            logger.info("Element located by: {} is not visible within {} ms", locator, timeout.toMillis());
+            return false;
+        }
+    }
+
+    private static Duration networkQuietWindow() {
+        String quietMs = ConfigManager.getProperty("page.networkIdle.quietMs");
+        if (quietMs == null || quietMs.isBlank()) {
+            return DEFAULT_NETWORK_QUIET_WINDOW;
+        }
+        try {
+            return Duration.ofMillis(Long.parseLong(quietMs.trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid page.networkIdle.quietMs '{}'. Using {} ms.", quietMs, DEFAULT_NETWORK_QUIET_WINDOW.toMillis());
+            return DEFAULT_NETWORK_QUIET_WINDOW;
+        }
+    }
+
+    private void waitForNetworkIdle(NetworkIdleTracker networkIdleTracker) {
+        logger.info("Waiting for network to be idle for {} ms.", NETWORK_QUIET_WINDOW.toMillis());
+        try {
+            if (networkIdleTracker.awaitIdle(NETWORK_QUIET_WINDOW, TIMEOUT)) {
+                logger.info("Network is idle.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for network to be idle.", e);
+        }
+    }
+
     private WebElement waitForElementToBeVisible(By locator) {
         logger.info("Waiting for element to be visible located by: {}", locator);
-        return new WebDriverWait(driver, TIMEOUT)
-                .until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return eventDrivenWait.untilVisible(locator);
     }
 
     private WebElement waitForElementToBeClickable(By locator) {
         logger.info("Waiting for element to be clickable located by: {}", locator);
-        return new WebDriverWait(driver, TIMEOUT)
-                .until(ExpectedConditions.elementToBeClickable(locator));
+        return eventDrivenWait.untilClickable(locator);
     }
 
     public void selectDropdownByText(By locator, String visibleText) {
         logger.info("Selecting '{}' from dropdown located by: {}", visibleText, locator);
         try {
-            WebElement dropdownElement = waitForElementToBeVisible(locator);
+            WebElement dropdownElement = findVisibleElement(locator);
             Select dropdown = new Select(dropdownElement);
             dropdown.selectByVisibleText(visibleText);
             logger.info("Successfully selected '{}' from dropdown.", visibleText);
@@ -167,7 +499,7 @@ public class MainSteps {
     public void verifyElementIsDisplayed(By locator) {
         logger.info("Verifying element located by: {}", locator);
         try {
-            WebElement element = waitForElementToBeVisible(locator);
+            WebElement element = findVisibleElement(locator);
             if (!element.isDisplayed()) {
                 throw new AssertionError("Element located by " + locator + " is not displayed.");
             }
@@ -0,0 +1,42 @@
+package steps.main;
+
+import org.openqa.selenium.By;
+
+import java.util.Map;
+
+/**
+ * Texts, visibility and attributes of a set of elements read in one browser round-trip.
+ */
+public final class PageSnapshot {
+
+    private final Map<By, ElementState> states;
+
+    PageSnapshot(Map<By, ElementState> states) {
+        this.states = Map.copyOf(states);
+    }
+
+    public ElementState get(By locator) {
+        ElementState state = states.get(locator);
+        if (state == null) {
+            throw new IllegalArgumentException("Locator is not part of the snapshot: " + locator);
+        }
+        return state;
+    }
+
+    public String text(By locator) {
+        return get(locator).text();
+    }
+
+    public boolean isDisplayed(By locator) {
+        return get(locator).displayed();
+    }
+
+    public String attribute(By locator, String name) {
+        return get(locator).attributes().get(name);
+    }
+
+    public record ElementState(boolean present, boolean displayed, String text, Map<String, String> attributes) {
+
+        static final ElementState MISSING = new ElementState(false, false, "", Map.of());
+    }
+}
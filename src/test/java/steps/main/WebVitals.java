@@ -0,0 +1,44 @@
+package steps.main;
+
+import java.util.Map;
+
+/**
+ * Navigation Timing and Web Vitals of the current document, i.e. of its initial load rather than
+ * later in-app transitions, in milliseconds except {@code cls}.
+ * Metrics the browser does not report are {@code null}.
+ */
+public record WebVitals(Double ttfb, Double fcp, Double lcp, Double cls, Double domContentLoaded, Double load,
+                        long longTaskCount, double longTaskMs) {
+
+    static WebVitals from(Map<String, Object> values) {
+        return new WebVitals(
+                number(values.get("ttfb")),
+                number(values.get("fcp")),
+                number(values.get("lcp")),
+                number(values.get("cls")),
+                number(values.get("domContentLoaded")),
+                number(values.get("load")),
+                values.get("longTaskCount") instanceof Number count ? count.longValue() : 0,
+                values.get("longTaskMs") instanceof Number duration ? duration.doubleValue() : 0);
+    }
+
+    /**
+     * @param metric TTFB, FCP, LCP, CLS, DCL, LOAD or LONGTASKS (total long task time)
+     */
+    public Double get(String metric) {
+        return switch (metric.toUpperCase()) {
+            case "TTFB" -> ttfb;
+            case "FCP" -> fcp;
+            case "LCP" -> lcp;
+            case "CLS" -> cls;
+            case "DCL" -> domContentLoaded;
+            case "LOAD" -> load;
+            case "LONGTASKS" -> longTaskMs;
+            default -> throw new IllegalArgumentException("Unknown performance metric: " + metric);
+        };
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : null;
+    }
+}
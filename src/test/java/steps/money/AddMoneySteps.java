@@ -1,11 +1,15 @@
 package steps.money;
 
+import org.openqa.selenium.By;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pages.money.AddMoneyPage;
 import runners.Hooks;
 import steps.main.MainSteps;
-import utils.ConfigManager;
+import utils.ConfigSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class AddMoneySteps extends MainSteps {
 
@@ -20,23 +24,18 @@ public class AddMoneySteps extends MainSteps {
         logger.info("AddMoneySteps initialized with WebDriver.");
     }
 
-    private boolean isInvalidCard(String cardKey) {
-        return cardKey.toLowerCase().contains("invalid");
-    }
-
     public void performAddMoney(String cardKey, String amount) {
         logger.info("Starting to add money with card '{}'", cardKey);
         try {
             double initialTotal = getTotalAmount();
             logger.info("Initial total amount: {}", initialTotal);
             initiateAddMoney();
-            enterCardDetails(cardKey);
-            enterAmount(amount);
+            enterCardDetails(cardKey, amount);
             confirmAddMoney();
             double finalTotal = getTotalAmount();
             logger.info("Final total amount: {}", finalTotal);
 
-            validateTotalAmount(initialTotal, finalTotal, Double.parseDouble(amount), isInvalidCard(cardKey));
+            validateTotalAmount(initialTotal, finalTotal, Double.parseDouble(amount), MoneyFlow.isInvalidCard(cardKey));
             logger.info("Money added successfully using card '{}' with amount '{}'.", cardKey, amount);
         } catch (Exception e) {
             logger.error("Failed to add money with card '{}'", cardKey, e);
@@ -49,53 +48,28 @@ public class AddMoneySteps extends MainSteps {
         clickElement(AddMoneyPage.ADD_MONEY_BUTTON);
     }
 
-    private void enterCardDetails(String cardKey) {
+    private void enterCardDetails(String cardKey, String amount) {
         logger.info("Entering card details for card '{}'", cardKey);
         try {
-            enterCardNumber(cardKey);
-            enterCardHolder(cardKey);
-            enterExpiryDate(cardKey);
-            enterCVV(cardKey);
-            logger.info("Card details entered successfully for card '{}'.", cardKey);
+            ConfigSnapshot.Card card = MoneyFlow.card(cardKey);
+
+            Map<By, String> fields = new LinkedHashMap<>();
+            fields.put(AddMoneyPage.CARD_NUMBER_FIELD, card.number());
+            fields.put(AddMoneyPage.CARD_HOLDER_FIELD, card.holder());
+            fields.put(AddMoneyPage.EXPIRY_DATE_FIELD, card.expireDate());
+            fields.put(AddMoneyPage.CVV_FIELD, card.cvv());
+            fields.put(AddMoneyPage.AMOUNT_FIELD, amount);
+            fillFields(fields);
+
+            logger.info("Card number '{}', holder '{}', expiry date '{}', CVV '{}' entered successfully.",
+                    maskSensitiveData(card.number()), card.holder(), card.expireDate(), maskSensitiveData(card.cvv()));
+            logger.info("Amount '{}' entered successfully.", amount);
         } catch (Exception e) {
             logger.error("Failed to enter card details for card '{}'.", cardKey, e);
             throw e;
         }
     }
 
-    private void enterCardNumber(String cardKey) {
-        String cardNumber = getValidatedProperty("card", cardKey, "number");
-        logger.info("Entering card number for cardKey: {}", cardKey);
-        sendKeysToElement(AddMoneyPage.CARD_NUMBER_FIELD, cardNumber);
-        logger.info("Card number '{}' entered successfully.", maskSensitiveData(cardNumber));
-    }
-
-    private void enterCardHolder(String cardKey) {
-        String cardHolder = getValidatedProperty("card", cardKey, "holder");
-        logger.info("Entering card holder for cardKey: {}", cardKey);
-        sendKeysToElement(AddMoneyPage.CARD_HOLDER_FIELD, cardHolder);
-        logger.info("Card holder '{}' entered successfully.", cardHolder);
-    }
-
-    private void enterExpiryDate(String cardKey) {
-        String expiryDate = getValidatedProperty("card", cardKey, "expireDate");
-        logger.info("Entering expiry date for cardKey: {}", cardKey);
-        sendKeysToElement(AddMoneyPage.EXPIRY_DATE_FIELD, expiryDate);
-        logger.info("Expiry date '{}' entered successfully.", expiryDate);
-    }
-
-    private void enterCVV(String cardKey) {
-        String cvv = getValidatedProperty("card", cardKey, "cvv");
-        logger.info("Entering CVV for cardKey: {}", cardKey);
-        sendKeysToElement(AddMoneyPage.CVV_FIELD, cvv);
-        logger.info("CVV '{}' entered successfully.", maskSensitiveData(cvv));
-    }
-
-    private void enterAmount(String amount) {
-        sendKeysToElement(AddMoneyPage.AMOUNT_FIELD, amount);
-        logger.info("Amount '{}' entered successfully.", amount);
-    }
-
     private void confirmAddMoney() {
         clickElement(AddMoneyPage.ADD_BUTTON);
         clickElement(AddMoneyPage.CONFIRM_BUTTON);
@@ -125,16 +99,6 @@ public class AddMoneySteps extends MainSteps {
         logger.info("Validation passed. Final total: {}", finalTotal);
     }
 
-    private String getValidatedProperty(String category, String key, String property) {
-        String value = ConfigManager.getNestedProperty(category, key, property);
-        if (value == null || value.isEmpty()) {
-            String errorMessage = String.format("%s is not configured for %s key: %s", property, category, key);
-            logger.error(errorMessage);
-            throw new IllegalArgumentException(errorMessage);
-        }
-        return value;
-    }
-
     private String maskSensitiveData(String data) {
         if (data == null || data.length() <= 4) {
             return "****";
@@ -0,0 +1,62 @@
+package steps.money;
+
+import utils.ConfigManager;
+import utils.ConfigSnapshot;
+
+/**
+ * Inputs of the add-money and transfer-money flows, shared by the UI steps and the API load generator
+ * so both resolve cards, accounts and amounts the same way.
+ */
+public final class MoneyFlow {
+
+    private static final String BALANCE = "balance";
+
+    private MoneyFlow() {
+    }
+
+    public record Accounts(String sender, String receiver) {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the card or any of its fields is not configured
+     */
+    public static ConfigSnapshot.Card card(String cardKey) {
+        ConfigSnapshot.Card card = ConfigManager.getCard(cardKey);
+        if (card == null) {
+            throw new IllegalArgumentException("card is not configured for key: " + cardKey);
+        }
+        required(card.number(), "number", cardKey);
+        required(card.holder(), "holder", cardKey);
+        required(card.expireDate(), "expireDate", cardKey);
+        required(card.cvv(), "cvv", cardKey);
+        return card;
+    }
+
+    public static boolean isInvalidCard(String cardKey) {
+        return cardKey.toLowerCase().contains("invalid");
+    }
+
+    /**
+     * @param accounts accounts in {@code sender->receiver} format
+     */
+    public static Accounts accounts(String accounts) {
+        String[] accountDetails = accounts.split("->");
+        if (accountDetails.length != 2) {
+            throw new IllegalArgumentException("Invalid account format. Expected 'sender->receiver'. Provided: " + accounts);
+        }
+        return new Accounts(accountDetails[0], accountDetails[1]);
+    }
+
+    /**
+     * @param amount an amount, or {@code balance} to transfer everything
+     */
+    public static String resolveTransferAmount(String amount, double balance) {
+        return amount.equalsIgnoreCase(BALANCE) ? String.valueOf(balance) : amount;
+    }
+
+    private static void required(String value, String property, String cardKey) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException(property + " is not configured for card key: " + cardKey);
+        }
+    }
+}
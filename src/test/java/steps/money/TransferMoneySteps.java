@@ -5,6 +5,9 @@ import org.slf4j.LoggerFactory;
 import pages.money.TransferMoneyPage;
 import runners.Hooks;
 import steps.main.MainSteps;
+import steps.main.PageSnapshot;
+
+import java.util.List;
 
 public class TransferMoneySteps extends MainSteps {
 
@@ -22,32 +25,31 @@ public class TransferMoneySteps extends MainSteps {
     public void performTransferMoney(String amount, String accounts) {
         logger.info("Starting transfer money process with amount: '{}' and accounts: '{}'", amount, accounts);
 
-        String[] accountDetails = validateAndSplitAccounts(accounts);
-        String senderAccount = accountDetails[0];
-        String receiverAccount = accountDetails[1];
+        MoneyFlow.Accounts accountDetails = validateAndSplitAccounts(accounts);
 
         double initialTotal = getTotalAmount();
         String transferAmount = resolveTransferAmount(amount, initialTotal);
 
-        executeTransfer(senderAccount, receiverAccount, transferAmount);
+        executeTransfer(accountDetails.sender(), accountDetails.receiver(), transferAmount);
         validateTransaction(initialTotal, Double.parseDouble(transferAmount));
         logger.info("Transfer money process completed successfully.");
     }
 
-    private String[] validateAndSplitAccounts(String accounts) {
+    private MoneyFlow.Accounts validateAndSplitAccounts(String accounts) {
         logger.info("Validating and splitting accounts: '{}'", accounts);
-        String[] accountDetails = accounts.split("->");
-        if (accountDetails.length != 2) {
+        try {
+            MoneyFlow.Accounts accountDetails = MoneyFlow.accounts(accounts);
+            logger.info("Accounts split successfully into sender: '{}' and receiver: '{}'", accountDetails.sender(), accountDetails.receiver());
+            return accountDetails;
+        } catch (IllegalArgumentException e) {
             logger.error("Invalid account format. Expected 'sender->receiver'. Provided: {}", accounts);
-            throw new IllegalArgumentException("Invalid account format. Expected 'sender->receiver'. Provided: " + accounts);
+            throw e;
         }
-        logger.info("Accounts split successfully into sender: '{}' and receiver: '{}'", accountDetails[0], accountDetails[1]);
-        return accountDetails;
     }
 
     private String resolveTransferAmount(String amount, double initialTotal) {
         logger.info("Resolving transfer amount with input '{}', Initial total '{}'", amount, initialTotal);
-        return amount.equalsIgnoreCase("balance") ? String.valueOf(initialTotal) : amount;
+        return MoneyFlow.resolveTransferAmount(amount, initialTotal);
     }
 
     private void executeTransfer(String senderAccount, String receiverAccount, String transferAmount) {
@@ -85,13 +87,13 @@ public class TransferMoneySteps extends MainSteps {
     }
 
     private void validateTransaction(double initialTotal, double transferredAmount) {
-        validateTransferredAmount(transferredAmount);
-        validateTotalAmount(initialTotal, transferredAmount);
+        PageSnapshot snapshot = takeSnapshotWhenVisible(List.of(TransferMoneyPage.TRANSFERRED_MONEY_AMOUNT_TEXT, TransferMoneyPage.TOTAL_AMOUNT));
+        validateTransferredAmount(snapshot.text(TransferMoneyPage.TRANSFERRED_MONEY_AMOUNT_TEXT), transferredAmount);
+        validateTotalAmount(initialTotal, Double.parseDouble(snapshot.text(TransferMoneyPage.TOTAL_AMOUNT)), transferredAmount);
     }
 
-    private void validateTransferredAmount(double transferredAmount) {
+    private void validateTransferredAmount(String actualAmount, double transferredAmount) {
         String expectedAmount = String.valueOf(transferredAmount);
-        String actualAmount = getTextFromElement(TransferMoneyPage.TRANSFERRED_MONEY_AMOUNT_TEXT);
         if (!actualAmount.equals(expectedAmount)) {
             logger.error("Transferred amount mismatch! Expected: '{}', but got: '{}'", expectedAmount, actualAmount);
             throw new AssertionError("Transferred amount mismatch! Expected: " + expectedAmount + ", but got: " + actualAmount);
@@ -99,8 +101,7 @@ public class TransferMoneySteps extends MainSteps {
         logger.info("Transferred amount validated successfully. Actual: '{}'", actualAmount);
     }
 
-    private void validateTotalAmount(double initialTotal, double transferredAmount) {
-        double finalTotal = getTotalAmount();
+    private void validateTotalAmount(double initialTotal, double finalTotal, double transferredAmount) {
         double expectedTotal = initialTotal - transferredAmount;
         if (Double.compare(expectedTotal, finalTotal) != 0) {
             logger.error("Total amount mismatch after transfer! Expected: '{}', but got: '{}'", expectedTotal, finalTotal);
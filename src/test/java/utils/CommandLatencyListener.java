@@ -0,0 +1,80 @@
+package utils;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Times every call made through the decorated driver and its elements and reports it to
+ * {@link LatencyRecorder} as {@code driver.click}, {@code element.sendKeys}, and so on.
+ * Element lookups and the asynchronous scripts behind {@code EventDrivenWait} count as wait time,
+ * every other command as action time. Only outermost calls count towards a step's split.
+ */
+class CommandLatencyListener implements WebDriverListener {
+
+    private static final Set<String> WAIT_METHODS = Set.of("findElement", "findElements", "executeAsyncScript");
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        Deque<Long> starts = startTimes.get();
+        if (starts.isEmpty()) {
+            return;
+        }
+        long nanos = System.nanoTime() - starts.pop();
+        LatencyRecorder.command(targetName(target) + "." + method.getName(), nanos);
+        if (starts.isEmpty()) {
+            LatencyRecorder.stepCommand(nanos, WAIT_METHODS.contains(method.getName()));
+        }
+    }
+
+    private static String targetName(Object target) {
+        if (target instanceof WebElement) {
+            return "element";
+        }
+        if (target instanceof WebDriver) {
+            return "driver";
+        }
+        if (target instanceof WebDriver.Navigation) {
+            return "navigation";
+        }
+        if (target instanceof WebDriver.TargetLocator) {
+            return "switchTo";
+        }
+        if (target instanceof WebDriver.Window) {
+            return "window";
+        }
+        if (target instanceof WebDriver.Timeouts) {
+            return "timeouts";
+        }
+        if (target instanceof WebDriver.Options) {
+            return "options";
+        }
+        if (target instanceof Alert) {
+            return "alert";
+        }
+        return target.getClass().getSimpleName();
+    }
+}
@@ -3,54 +3,226 @@ package utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Resolves configuration into an immutable {@link ConfigSnapshot}. Sources, lowest precedence first:
+ * <ol>
+ *     <li>{@code config.properties} on the classpath</li>
+ *     <li>{@value #CONFIG_FILE_PATH}, watched for changes and reloaded while the run is in progress</li>
+ *     <li>environment variables named after a key, upper-cased with dots replaced by underscores
+ *     ({@code login.url} -> {@code LOGIN_URL})</li>
+ *     <li>system properties with the same key</li>
+ *     <li>values written with {@link #setProperty} that have not been flushed yet</li>
+ *     <li>{@link #overrideProperty} overrides, which are never written to disk</li>
+ * </ol>
+ * Readers only dereference the current snapshot; reloads and writes swap in a new one.
+ * {@link #setProperty} batches writes and applies them to the file on a background thread.
+ */
 public class ConfigManager {
 
     public static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
+    private static final String CONFIG_RESOURCE = "config.properties";
+    private static final long WRITE_DELAY_MS = 200;
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    public static Properties properties = new Properties();
+
+    private static final Path configFile = Paths.get(CONFIG_FILE_PATH);
+    private static final Map<String, String> classpathValues = loadClasspath();
+    private static final Map<String, String> runtimeOverrides = new ConcurrentHashMap<>();
+    private static final Map<String, String> pendingWrites = new ConcurrentHashMap<>();
+    private static final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("config-writer").daemon().unstarted(runnable));
+    private static volatile ConfigSnapshot snapshot;
 
     static {
-        try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
-            logger.info("Loading configuration file from path: {}", CONFIG_FILE_PATH);
-            properties.load(fis);
-            logger.info("Configuration file loaded successfully.");
-        } catch (IOException e) {
-            logger.error("Failed to load configuration file from path: {}", CONFIG_FILE_PATH, e);
-            throw new RuntimeException("Configuration file not found: " + CONFIG_FILE_PATH, e);
+        reload();
+        if (Files.isRegularFile(configFile)) {
+            startWatcher();
         }
+        Runtime.getRuntime().addShutdownHook(new Thread(ConfigManager::flush, "config-flush"));
+    }
+
+    public static ConfigSnapshot snapshot() {
+        return snapshot;
     }
 
     public static String getProperty(String key) {
-        logger.info("Retrieving property for key: {}", key);
-        String value = properties.getProperty(key);
+        String value = snapshot.get(key);
         if (value == null) {
             logger.warn("Property not found for key: {}", key);
-        } else {
-            logger.debug("Property value for key {}: {}", key, value);
         }
         return value;
     }
 
     public static String getNestedProperty(String category, String subKey, String field) {
-        String key = String.format("%s.%s.%s", category, subKey, field);
-        logger.info("Retrieving nested property for key: {}", key);
-        return getProperty(key);
+        String value = snapshot.get(category, subKey, field);
+        if (value == null) {
+            logger.warn("Property not found for key: {}.{}.{}", category, subKey, field);
+        }
+        return value;
+    }
+
+    public static ConfigSnapshot.User getUser(String userKey) {
+        return snapshot.users().get(userKey);
     }
 
+    public static ConfigSnapshot.Card getCard(String cardKey) {
+        return snapshot.cards().get(cardKey);
+    }
+
+    /**
+     * Overrides a property for the current run without writing it to the configuration file.
+     */
+    public static void overrideProperty(String key, String value) {
+        logger.info("Overriding property for this run. Key: {}, Value: {}", key, value);
+        runtimeOverrides.put(key, value);
+        reload();
+    }
+
+    /**
+     * Sets a property immediately and writes it to {@value #CONFIG_FILE_PATH} in the background,
+     * together with any other writes made within {@value #WRITE_DELAY_MS} ms.
+     */
     public static void setProperty(String key, String value) {
         logger.info("Setting property. Key: {}, Value: {}", key, value);
-        properties.setProperty(key, value);
-        try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE_PATH)) {
-            properties.store(fos, null);
-            logger.info("Configuration saved successfully to file: {}", CONFIG_FILE_PATH);
+        pendingWrites.put(key, value);
+        reload();
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.schedule(ConfigManager::flush, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes pending {@link #setProperty} values to the configuration file, updating existing lines
+     * in place so ordering and comments are kept.
+     */
+    public static synchronized void flush() {
+        writeScheduled.set(false);
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        Map<String, String> batch = new LinkedHashMap<>(pendingWrites);
+        try {
+            List<String> lines = Files.isRegularFile(configFile) ? Files.readAllLines(configFile, StandardCharsets.UTF_8) : new ArrayList<>();
+            Map<String, String> remaining = new LinkedHashMap<>(batch);
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                int separator = line.indexOf('=');
+                if (separator > 0 && !line.startsWith("#") && remaining.containsKey(line.substring(0, separator).trim())) {
+                    String key = line.substring(0, separator).trim();
+                    lines.set(i, key + "=" + escape(remaining.remove(key)));
+                }
+            }
+            remaining.forEach((key, value) -> lines.add(key + "=" + escape(value)));
+            Files.write(configFile, lines, StandardCharsets.UTF_8);
+            batch.forEach((key, value) -> pendingWrites.remove(key, value));
+            logger.info("Configuration saved successfully to file: {} ({} key(s))", CONFIG_FILE_PATH, batch.size());
         } catch (IOException e) {
             logger.error("Failed to save configuration to file: {}", CONFIG_FILE_PATH, e);
-            throw new RuntimeException("Failed to save configuration to file.", e);
         }
     }
+
+    private static synchronized void reload() {
+        Map<String, String> values = new HashMap<>(classpathValues);
+        if (Files.isRegularFile(configFile)) {
+            try {
+                values.putAll(parse(Files.readString(configFile, StandardCharsets.UTF_8)));
+            } catch (IOException | IllegalArgumentException e) {
+                if (snapshot != null) {
+                    logger.warn("Failed to reload configuration file: {}. Keeping the previous configuration.", CONFIG_FILE_PATH, e);
+                    return;
+                }
+                logger.error("Failed to load configuration file from path: {}", CONFIG_FILE_PATH, e);
+                throw new RuntimeException("Configuration file not found: " + CONFIG_FILE_PATH, e);
+            }
+        } else if (classpathValues.isEmpty()) {
+            logger.error("Failed to load configuration file from path: {}", CONFIG_FILE_PATH);
+            throw new RuntimeException("Configuration file not found: " + CONFIG_FILE_PATH);
+        }
+
+        for (String key : List.copyOf(values.keySet())) {
+            String environmentValue = System.getenv(key.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_"));
+            if (environmentValue != null) {
+                values.put(key, environmentValue);
+            }
+            String systemValue = System.getProperty(key);
+            if (systemValue != null) {
+                values.put(key, systemValue);
+            }
+        }
+        values.putAll(pendingWrites);
+        values.putAll(runtimeOverrides);
+        snapshot = ConfigSnapshot.of(values);
+        logger.info("Configuration loaded with {} key(s).", values.size());
+    }
+
+    private static void startWatcher() {
+        Path directory = configFile.toAbsolutePath().getParent();
+        Path fileName = configFile.getFileName();
+        Thread.ofPlatform().name("config-watcher").daemon().start(() -> {
+            try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+                while (true) {
+                    WatchKey key = watchService.take();
+                    boolean changed = key.pollEvents().stream().anyMatch(event -> fileName.equals(event.context()));
+                    key.reset();
+                    if (changed) {
+                        logger.info("Configuration file changed, reloading: {}", CONFIG_FILE_PATH);
+                        reload();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | ClosedWatchServiceException e) {
+                logger.warn("Stopped watching configuration file: {}", CONFIG_FILE_PATH, e);
+            }
+        });
+    }
+
+    private static Map<String, String> loadClasspath() {
+        try (InputStream in = ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_RESOURCE)) {
+            return in == null ? Map.of() : parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.warn("Failed to read {} from the classpath.", CONFIG_RESOURCE, e);
+            return Map.of();
+        }
+    }
+
+    private static Map<String, String> parse(String content) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new StringReader(content)) {
+            properties.load(reader);
+        }
+        Map<String, String> values = new HashMap<>();
+        properties.stringPropertyNames().forEach(key -> values.put(key, properties.getProperty(key)));
+        return values;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
 }
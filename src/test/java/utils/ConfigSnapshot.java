@@ -0,0 +1,62 @@
+package utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of the resolved configuration. {@code user.*} and {@code card.*} entries are
+ * indexed into records, and every key with three or more segments is indexed by
+ * category / sub key / field, so nested lookups need neither string formatting nor locking.
+ */
+public record ConfigSnapshot(Map<String, String> values,
+                             Map<String, Map<String, Map<String, String>>> nested,
+                             Map<String, User> users,
+                             Map<String, Card> cards) {
+
+    public record User(String username, String password) {
+    }
+
+    /**
+     * Card details; fields that are not configured for the card are {@code null}.
+     */
+    public record Card(String number, String holder, String expireDate, String cvv) {
+    }
+
+    static ConfigSnapshot of(Map<String, String> values) {
+        Map<String, Map<String, Map<String, String>>> nested = new HashMap<>();
+        values.forEach((key, value) -> {
+            int first = key.indexOf('.');
+            int last = key.lastIndexOf('.');
+            if (first > 0 && last > first + 1 && last < key.length() - 1) {
+                nested.computeIfAbsent(key.substring(0, first), category -> new HashMap<>())
+                        .computeIfAbsent(key.substring(first + 1, last), subKey -> new HashMap<>())
+                        .put(key.substring(last + 1), value);
+            }
+        });
+
+        Map<String, User> users = new HashMap<>();
+        nested.getOrDefault("user", Map.of()).forEach((key, fields) ->
+                users.put(key, new User(fields.get("username"), fields.get("password"))));
+        Map<String, Card> cards = new HashMap<>();
+        nested.getOrDefault("card", Map.of()).forEach((key, fields) ->
+                cards.put(key, new Card(fields.get("number"), fields.get("holder"), fields.get("expireDate"), fields.get("cvv"))));
+
+        Map<String, Map<String, Map<String, String>>> frozen = new HashMap<>();
+        nested.forEach((category, subKeys) -> {
+            Map<String, Map<String, String>> frozenSubKeys = new HashMap<>();
+            subKeys.forEach((subKey, fields) -> frozenSubKeys.put(subKey, Map.copyOf(fields)));
+            frozen.put(category, Map.copyOf(frozenSubKeys));
+        });
+        return new ConfigSnapshot(Map.copyOf(values), Map.copyOf(frozen), Map.copyOf(users), Map.copyOf(cards));
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String category, String subKey, String field) {
+        Map<String, Map<String, String>> subKeys = nested.get(category);
+        Map<String, String> fields = subKeys == null ? null : subKeys.get(subKey);
+        return fields == null ? null : fields.get(field);
+    }
+}
@@ -3,61 +3,89 @@ package utils;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.Map;
 
 public class DriverManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
-    private static WebDriver driver;
+    private static final ThreadLocal<WebDriver> threadLocalDriver = new ThreadLocal<>();
+
+    public static WebDriver getDriver() {
+        return threadLocalDriver.get();
+    }
 
     public static WebDriver getDriver(String browser, boolean isMobile, String deviceName, int width, int height) {
-        if (driver != null) {
-            logger.info("Reusing existing WebDriver instance.");
-            return driver;
+        return getDriver(browser, isMobile, deviceName, width, height, null, null);
+    }
+
+    public static WebDriver getDriver(String browser, boolean isMobile, String deviceName, int width, int height, String blockRequests, String launchProfile) {
+        WebDriver current = threadLocalDriver.get();
+        if (current != null) {
+            logger.info("Reusing existing WebDriver instance for thread: {}", Thread.currentThread().getName());
+            return current;
         }
 
         logger.info("Initializing WebDriver for browser: {} (isMobile: {}, deviceName: {}, width: {}, height: {})", browser, isMobile, deviceName, width, height);
 
         try {
             Browser browserEnum = Browser.valueOf(browser.toUpperCase());
-            driver = isMobile ? getMobileDriver(browserEnum, deviceName, width, height) : getWebDriver(browserEnum);
-            logger.info("WebDriver initialized successfully for browser: {}", browser);
+            boolean blocking = RequestBlocker.isEnabled(browserEnum, blockRequests);
+            LaunchProfile profile = LaunchProfile.resolve(launchProfile);
+            logger.info("Using launch profile: {}", profile);
+            current = isMobile ? getMobileDriver(browserEnum, deviceName, width, height, blocking, profile) : getWebDriver(browserEnum, blocking, profile);
+            if (blocking) {
+                RequestBlocker.apply(current, browserEnum);
+            }
+            if (LatencyRecorder.isEnabled()) {
+                current = new EventFiringDecorator<>(new CommandLatencyListener()).decorate(current);
+            }
+            threadLocalDriver.set(current);
+            logger.info("WebDriver initialized successfully for browser: {} on thread: {}", browser, Thread.currentThread().getName());
         } catch (IllegalArgumentException e) {
             logger.error("Unsupported browser: {}", browser, e);
             throw e;
         } catch (Exception e) {
             logger.error("Failed to initialize WebDriver for browser: {}", browser, e);
+            ProfileDirectories.release();
             throw e;
         }
 
-        return driver;
+        return current;
     }
 
-    private static WebDriver getWebDriver(Browser browser) {
+    private static WebDriver getWebDriver(Browser browser, boolean blockRequests, LaunchProfile profile) {
         logger.info("Setting up WebDriver for browser: {}", browser);
+        WebDriver driver;
         try {
             switch (browser) {
                 case CHROME -> {
                     ChromeOptions chromeOptions = new ChromeOptions();
-                    chromeOptions.addArguments("--start-maximized", "--disable-popup-blocking", "--incognito");
+                    chromeOptions.addArguments("--start-maximized", "--disable-popup-blocking");
                     chromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                    driver = new ChromeDriver(chromeOptions);
+                    driver = new ChromeDriver(DriverServices.chrome(), applyProfile(chromeOptions, browser, profile));
+                }
+                case FIREFOX -> {
+                    FirefoxOptions firefoxOptions = new FirefoxOptions().addPreference("dom.webnotifications.enabled", false);
+                    applyProfile(firefoxOptions, browser, profile);
+                    driver = new FirefoxDriver(DriverServices.gecko(), blockRequests ? RequestBlocker.configure(firefoxOptions) : firefoxOptions);
                 }
-                case FIREFOX ->
-                        driver = new FirefoxDriver(new FirefoxOptions().addArguments("-private").addPreference("dom.webnotifications.enabled", false));
                 case EDGE ->
-                        driver = new EdgeDriver(new EdgeOptions().addArguments("--start-maximized", "--disable-popup-blocking"));
+                        driver = new EdgeDriver(DriverServices.edge(), applyProfile(new EdgeOptions().addArguments("--start-maximized", "--disable-popup-blocking"), browser, profile));
                 case SAFARI -> {
                     if (System.getProperty("os.name").toLowerCase().contains("mac")) {
+                        warnIfUnsupported(browser, profile);
                         driver = new SafariDriver(new SafariOptions());
                     } else {
                         throw new IllegalArgumentException("Safari is supported only on macOS.");
@@ -73,17 +101,18 @@ public class DriverManager {
         return driver;
     }
 
-    private static WebDriver getMobileDriver(Browser browser, String deviceName, int width, int height) {
+    private static WebDriver getMobileDriver(Browser browser, String deviceName, int width, int height, boolean blockRequests, LaunchProfile profile) {
         logger.info("Setting up mobile WebDriver for browser: {}, deviceName: {}, width: {}, height: {}", browser, deviceName, width, height);
+        WebDriver driver;
         try {
             switch (browser) {
                 case MWEB_CHROME -> {
                     ChromeOptions mobileChromeOptions = new ChromeOptions();
                     mobileChromeOptions.setExperimentalOption("mobileEmulation", configureMobileEmulation(deviceName, width, height));
                     mobileChromeOptions.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
-                    driver = new ChromeDriver(mobileChromeOptions);
+                    driver = new ChromeDriver(DriverServices.chrome(), applyProfile(mobileChromeOptions, browser, profile));
                 }
-                case MWEB_FIREFOX, MWEB_EDGE, MWEB_SAFARI -> driver = setupDimensionedDriver(browser, width, height);
+                case MWEB_FIREFOX, MWEB_EDGE, MWEB_SAFARI -> driver = setupDimensionedDriver(browser, width, height, blockRequests, profile);
                 default -> throw new IllegalArgumentException("Unsupported mobile browser: " + browser);
             }
             logger.info("Mobile WebDriver setup completed for browser: {}", browser);
@@ -94,13 +123,20 @@ public class DriverManager {
         return driver;
     }
 
-    private static WebDriver setupDimensionedDriver(Browser browser, int width, int height) {
+    private static WebDriver setupDimensionedDriver(Browser browser, int width, int height, boolean blockRequests, LaunchProfile profile) {
         logger.info("Setting up dimensioned WebDriver for browser: {}, width: {}, height: {}", browser, width, height);
+        WebDriver driver;
         try {
             driver = switch (browser) {
-                case MWEB_FIREFOX -> new FirefoxDriver(new FirefoxOptions());
-                case MWEB_EDGE -> new EdgeDriver(new EdgeOptions());
-                case MWEB_SAFARI -> new SafariDriver(new SafariOptions());
+                case MWEB_FIREFOX -> {
+                    FirefoxOptions firefoxOptions = applyProfile(new FirefoxOptions(), browser, profile);
+                    yield new FirefoxDriver(DriverServices.gecko(), blockRequests ? RequestBlocker.configure(firefoxOptions) : firefoxOptions);
+                }
+                case MWEB_EDGE -> new EdgeDriver(DriverServices.edge(), applyProfile(new EdgeOptions(), browser, profile));
+                case MWEB_SAFARI -> {
+                    warnIfUnsupported(browser, profile);
+                    yield new SafariDriver(new SafariOptions());
+                }
                 default -> throw new IllegalArgumentException("Unsupported browser for dimensions: " + browser);
             };
             driver.manage().window().setSize(new org.openqa.selenium.Dimension(width, height));
@@ -112,6 +148,59 @@ public class DriverManager {
         return driver;
     }
 
+    /**
+     * Applies the launch profile. Every profile except {@link LaunchProfile#WARM} runs incognito/private,
+     * since those modes bypass the disk cache the warm profile exists for.
+     */
+    private static <T extends ChromiumOptions<?>> T applyProfile(T options, Browser browser, LaunchProfile profile) {
+        profile.configure(options);
+        if (profile == LaunchProfile.WARM) {
+            Path sessionProfile = ProfileDirectories.sessionCopy(family(browser), template -> warmUpTemplate(browser, template));
+            options.addArguments("--user-data-dir=" + sessionProfile.toAbsolutePath());
+        } else if (browser == Browser.CHROME) {
+            options.addArguments("--incognito");
+        }
+        return options;
+    }
+
+    private static FirefoxOptions applyProfile(FirefoxOptions options, Browser browser, LaunchProfile profile) {
+        profile.configure(options);
+        if (profile == LaunchProfile.WARM) {
+            Path sessionProfile = ProfileDirectories.sessionCopy(family(browser), template -> warmUpTemplate(browser, template));
+            options.addArguments("-profile", sessionProfile.toAbsolutePath().toString());
+        } else if (browser == Browser.FIREFOX) {
+            options.addArguments("-private");
+        }
+        return options;
+    }
+
+    private static void warmUpTemplate(Browser browser, Path template) {
+        String profileArgument = "--user-data-dir=" + template.toAbsolutePath();
+        WebDriver warmUpDriver = switch (family(browser)) {
+            case "CHROME" -> new ChromeDriver(DriverServices.chrome(), LaunchProfile.HEADLESS.configure(new ChromeOptions()).addArguments(profileArgument));
+            case "EDGE" -> new EdgeDriver(DriverServices.edge(), LaunchProfile.HEADLESS.configure(new EdgeOptions()).addArguments(profileArgument));
+            case "FIREFOX" -> new FirefoxDriver(DriverServices.gecko(), LaunchProfile.HEADLESS.configure(new FirefoxOptions())
+                    .addArguments("-profile", template.toAbsolutePath().toString()));
+            default -> throw new IllegalArgumentException("Warm profiles are not supported for browser: " + browser);
+        };
+        try {
+            warmUpDriver.get(ConfigManager.getProperty("login.url"));
+            logger.info("Warmed profile template for browser: {}", browser);
+        } finally {
+            warmUpDriver.quit();
+        }
+    }
+
+    private static String family(Browser browser) {
+        return browser.name().replace("MWEB_", "");
+    }
+
+    private static void warnIfUnsupported(Browser browser, LaunchProfile profile) {
+        if (profile != LaunchProfile.HEADED) {
+            logger.warn("Launch profile {} is not supported for browser: {}. Starting headed.", profile, browser);
+        }
+    }
+
     private static Map<String, Object> configureMobileEmulation(String deviceName, int width, int height) {
         if (!deviceName.isEmpty()) {
             logger.debug("Configuring mobile emulation with deviceName: {}", deviceName);
@@ -125,15 +214,19 @@ public class DriverManager {
     }
 
     public static void quitDriver() {
-        if (driver != null) {
-            logger.info("Closing and quitting WebDriver.");
+        WebDriver current = threadLocalDriver.get();
+        if (current != null) {
+            logger.info("Closing and quitting WebDriver on thread: {}", Thread.currentThread().getName());
             try {
-                driver.quit();
-                driver = null;
+                NetworkIdleTracker.release(current);
+                current.quit();
                 logger.info("WebDriver quit successfully.");
             } catch (Exception e) {
                 logger.error("Failed to quit WebDriver.", e);
                 throw e;
+            } finally {
+                threadLocalDriver.remove();
+                ProfileDirectories.release();
             }
         } else {
             logger.warn("No WebDriver instance to quit.");
@@ -0,0 +1,187 @@
+package utils;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.net.PortProber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Long-lived driver processes shared between sessions, so a new session does not wait for
+ * chromedriver/msedgedriver/geckodriver to spawn. Chrome and Edge use one service per JVM.
+ * geckodriver only serves a single session at a time, so Firefox gets one service per thread.
+ * Sessions quitting leave the process running; everything is stopped by a shutdown hook.
+ * <p>
+ * The executable is left unset so the first session resolves it through Selenium Manager
+ * exactly as {@code new ChromeDriver(options)} would.
+ */
+public final class DriverServices {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverServices.class);
+
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(20);
+    private static final Set<SharedService> services = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<SharedGeckoDriverService> geckoDriverService = new ThreadLocal<>();
+
+    private static SharedChromeDriverService chromeDriverService;
+    private static SharedEdgeDriverService edgeDriverService;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverServices::shutdown, "driver-services-shutdown"));
+    }
+
+    private DriverServices() {
+    }
+
+    public static synchronized ChromeDriverService chrome() {
+        if (chromeDriverService == null || chromeDriverService.hasDied()) {
+            try {
+                chromeDriverService = register(new SharedChromeDriverService(PortProber.findFreePort()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error creating shared chromedriver service", e);
+            }
+        }
+        return chromeDriverService;
+    }
+
+    public static synchronized EdgeDriverService edge() {
+        if (edgeDriverService == null || edgeDriverService.hasDied()) {
+            try {
+                edgeDriverService = register(new SharedEdgeDriverService(PortProber.findFreePort()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error creating shared msedgedriver service", e);
+            }
+        }
+        return edgeDriverService;
+    }
+
+    public static GeckoDriverService gecko() {
+        SharedGeckoDriverService service = geckoDriverService.get();
+        if (service == null || service.hasDied()) {
+            try {
+                service = register(new SharedGeckoDriverService(PortProber.findFreePort(), PortProber.findFreePort()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error creating shared geckodriver service", e);
+            }
+            geckoDriverService.set(service);
+        }
+        return service;
+    }
+
+    public static void shutdown() {
+        services.forEach(SharedService::shutdown);
+        services.clear();
+    }
+
+    private static <T extends SharedService> T register(T service) {
+        services.add(service);
+        logger.info("Registered shared driver service: {} on thread: {}", service.getClass().getSimpleName(), Thread.currentThread().getName());
+        return service;
+    }
+
+    /**
+     * DriverCommandExecutor stops the service when a session quits, so {@code stop()} is a no-op
+     * and the process is only stopped through {@link #shutdown()}.
+     */
+    private interface SharedService {
+        void shutdown();
+    }
+
+    private static final class SharedChromeDriverService extends ChromeDriverService implements SharedService {
+        private volatile boolean started;
+
+        private SharedChromeDriverService(int port) throws IOException {
+            super(null, port, START_TIMEOUT, List.of("--port=" + port), Map.of());
+        }
+
+        @Override
+        public void start() throws IOException {
+            super.start();
+            started = true;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void shutdown() {
+            logger.info("Stopping shared chromedriver on: {}", getUrl());
+            super.stop();
+        }
+
+        private boolean hasDied() {
+            return started && !isRunning();
+        }
+    }
+
+    private static final class SharedEdgeDriverService extends EdgeDriverService implements SharedService {
+        private volatile boolean started;
+
+        private SharedEdgeDriverService(int port) throws IOException {
+            super(null, port, START_TIMEOUT, List.of("--port=" + port), Map.of());
+        }
+
+        @Override
+        public void start() throws IOException {
+            super.start();
+            started = true;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void shutdown() {
+            logger.info("Stopping shared msedgedriver on: {}", getUrl());
+            super.stop();
+        }
+
+        private boolean hasDied() {
+            return started && !isRunning();
+        }
+    }
+
+    private static final class SharedGeckoDriverService extends GeckoDriverService implements SharedService {
+        private volatile boolean started;
+
+        private SharedGeckoDriverService(int port, int websocketPort) throws IOException {
+            super(null, port, START_TIMEOUT, List.of(
+                    "--port=" + port,
+                    "--websocket-port=" + websocketPort,
+                    "--allow-origins",
+                    "http://127.0.0.1:" + websocketPort,
+                    "http://localhost:" + websocketPort), Map.of());
+        }
+
+        @Override
+        public void start() throws IOException {
+            super.start();
+            started = true;
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void shutdown() {
+            logger.info("Stopping shared geckodriver on: {}", getUrl());
+            super.stop();
+        }
+
+        private boolean hasDied() {
+            return started && !isRunning();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Which glue classes and pages each scenario reached in an instrumented run, keyed by
+ * {@code uri:line}. Written by {@code runners.ImpactMapPlugin} and read by {@code runners.ImpactSelector}.
+ */
+public record ImpactMap(String revision, Map<String, Entry> scenarios) {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpactMap.class);
+    private static final ThreadLocal<Set<String>> recordedPages = new ThreadLocal<>();
+    private static volatile boolean recording;
+
+    /**
+     * @param classes fully qualified step definition and hook classes the scenario ran
+     * @param pages   page names looked up through {@code PageLoader}
+     */
+    public record Entry(String uri, int line, String name, List<String> tags, List<String> classes, List<String> pages) {
+        public String key() {
+            return uri + ":" + line;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("uri", uri);
+            map.put("line", line);
+            map.put("name", name);
+            map.put("tags", tags);
+            map.put("classes", classes);
+            map.put("pages", pages);
+            return map;
+        }
+    }
+
+    public static boolean isRecordingEnabled() {
+        return Boolean.parseBoolean(ConfigManager.getProperty("impact.record"));
+    }
+
+    public static Path location() {
+        return Path.of(ConfigManager.getProperty("impact.map"));
+    }
+
+    /**
+     * Switched on by {@code runners.ImpactMapPlugin} for instrumented runs; until then page
+     * lookups skip recording entirely.
+     */
+    public static void enableRecording() {
+        recording = true;
+    }
+
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Starts collecting page lookups made on the current thread.
+     */
+    public static void beginRecording() {
+        recordedPages.set(new LinkedHashSet<>());
+    }
+
+    public static void recordPage(String pageName) {
+        Set<String> pages = recordedPages.get();
+        if (pages != null) {
+            pages.add(pageName);
+        }
+    }
+
+    public static List<String> endRecording() {
+        Set<String> pages = recordedPages.get();
+        recordedPages.remove();
+        return pages == null ? List.of() : List.copyOf(pages);
+    }
+
+    public static Optional<ImpactMap> read(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(path), Json.MAP_TYPE);
+            Map<String, Entry> scenarios = new LinkedHashMap<>();
+            for (Map<String, Object> item : asList(json.get("scenarios"))) {
+                Entry entry = new Entry(String.valueOf(item.get("uri")), ((Number) item.get("line")).intValue(),
+                        String.valueOf(item.get("name")), strings(item.get("tags")), strings(item.get("classes")), strings(item.get("pages")));
+                scenarios.put(entry.key(), entry);
+            }
+            return Optional.of(new ImpactMap(String.valueOf(json.get("revision")), scenarios));
+        } catch (IOException | JsonException | ClassCastException | NullPointerException e) {
+            logger.warn("Failed to read impact map from {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the recorded entries over those of the existing map, so a selective run keeps the
+     * entries of the scenarios it skipped.
+     */
+    public static void merge(Path path, String revision, Collection<Entry> recorded) {
+        Map<String, Entry> scenarios = new LinkedHashMap<>(read(path).map(ImpactMap::scenarios).orElse(Map.of()));
+        for (Entry entry : recorded) {
+            scenarios.put(entry.key(), entry);
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, new Json().toJson(Map.of("revision", revision, "scenarios", scenarios.values().stream().map(Entry::toMap).toList())));
+            logger.info("Impact map of {} scenarios written to {}", scenarios.size(), path);
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing impact map to " + path, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> asList(Object value) {
+        return value instanceof List<?> list ? (List<Map<String, Object>>) list : List.of();
+    }
+
+    private static List<String> strings(Object value) {
+        return value instanceof List<?> list ? list.stream().map(String::valueOf).toList() : List.of();
+    }
+}
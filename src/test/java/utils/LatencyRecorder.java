@@ -0,0 +1,176 @@
+package utils;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * HDR latency histograms for Cucumber steps and WebDriver commands.
+ * <p>
+ * WebDriver commands are reported by {@link CommandLatencyListener}, which decorates every driver,
+ * so step code needs no instrumentation. Each step's duration is split at the step-definition
+ * boundary into action time (commands that act on the page), wait time (commands that wait for
+ * or look up elements) and the remainder spent outside WebDriver. Everything is recorded twice:
+ * into the run-wide histograms and into the current scenario's, which {@code Hooks} attaches to
+ * the report.
+ */
+public final class LatencyRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyRecorder.class);
+
+    private static final boolean enabled = !"false".equalsIgnoreCase(ConfigManager.getProperty("latency.enabled"));
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private static final Registry run = new Registry();
+    private static final ThreadLocal<Registry> scenario = ThreadLocal.withInitial(Registry::new);
+    private static final ThreadLocal<StepTotals> stepTotals = ThreadLocal.withInitial(StepTotals::new);
+
+    private LatencyRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void command(String name, long nanos) {
+        record(Registry::commands, name, nanos);
+    }
+
+    /**
+     * Charges an outermost command to the running step.
+     *
+     * @param wait whether the command waits for or looks up elements rather than acting on the page
+     */
+    static void stepCommand(long nanos, boolean wait) {
+        StepTotals totals = stepTotals.get();
+        if (wait) {
+            totals.waitNanos += nanos;
+        } else {
+            totals.actionNanos += nanos;
+        }
+    }
+
+    /**
+     * Discards command time recorded since the previous step, e.g. by hooks outside any step.
+     */
+    public static void startStep() {
+        stepTotals.remove();
+    }
+
+    public static void step(String name, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        StepTotals totals = stepTotals.get();
+        stepTotals.remove();
+        record(Registry::steps, name, nanos);
+        record(Registry::stepActions, name, totals.actionNanos);
+        record(Registry::stepWaits, name, totals.waitNanos);
+        record(Registry::stepOther, name, Math.max(0, nanos - totals.actionNanos - totals.waitNanos));
+    }
+
+    public static void startScenario() {
+        scenario.remove();
+        stepTotals.remove();
+    }
+
+    public static String scenarioSummary() {
+        return new Json().toJson(scenario.get().summary());
+    }
+
+    public static String runSummary() {
+        return new Json().toJson(run.summary());
+    }
+
+    public static void writeRunSummary(Path path) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            Files.writeString(path, runSummary());
+            logger.info("Latency summary written to: {}", path);
+        } catch (IOException e) {
+            logger.error("Failed to write latency summary: {}", path, e);
+            throw new RuntimeException("Error writing latency summary: " + path, e);
+        }
+    }
+
+    private static void record(Function<Registry, ConcurrentMap<String, Histogram>> category, String name, long nanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+        category.apply(run).computeIfAbsent(name, key -> newHistogram()).recordValue(micros);
+        category.apply(scenario.get()).computeIfAbsent(name, key -> newHistogram()).recordValue(micros);
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+
+    private static final class StepTotals {
+        private long actionNanos;
+        private long waitNanos;
+    }
+
+    private record Registry(ConcurrentMap<String, Histogram> steps,
+                            ConcurrentMap<String, Histogram> stepActions,
+                            ConcurrentMap<String, Histogram> stepWaits,
+                            ConcurrentMap<String, Histogram> stepOther,
+                            ConcurrentMap<String, Histogram> commands) {
+
+        private Registry() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+                    new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Percentiles in milliseconds; steps additionally carry their action, wait and other split.
+         */
+        private Map<String, Object> summary() {
+            Map<String, Object> stepSummary = new TreeMap<>();
+            steps.forEach((name, histogram) -> {
+                Map<String, Object> entry = percentiles(histogram);
+                entry.put("action", percentiles(stepActions.get(name)));
+                entry.put("wait", percentiles(stepWaits.get(name)));
+                entry.put("other", percentiles(stepOther.get(name)));
+                stepSummary.put(name, entry);
+            });
+            Map<String, Object> summary = new TreeMap<>();
+            summary.put("steps", stepSummary);
+            summary.put("commands", percentiles(commands));
+            return summary;
+        }
+
+        private static Map<String, Object> percentiles(Map<String, Histogram> histograms) {
+            Map<String, Object> entries = new TreeMap<>();
+            histograms.forEach((name, histogram) -> entries.put(name, percentiles(histogram)));
+            return entries;
+        }
+
+        private static Map<String, Object> percentiles(Histogram histogram) {
+            Histogram copy = histogram.copy();
+            Map<String, Object> entry = new TreeMap<>();
+            entry.put("count", copy.getTotalCount());
+            entry.put("p50Ms", toMillis(copy.getValueAtPercentile(50)));
+            entry.put("p95Ms", toMillis(copy.getValueAtPercentile(95)));
+            entry.put("p99Ms", toMillis(copy.getValueAtPercentile(99)));
+            entry.put("maxMs", toMillis(copy.getMaxValue()));
+            return entry;
+        }
+
+        private static double toMillis(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+}
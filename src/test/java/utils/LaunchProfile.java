@@ -0,0 +1,74 @@
+package utils;
+
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named browser launch profiles, selected by the {@code Profile} column of the Setup Driver table
+ * or {@code driver.launchProfile} in config.properties.
+ * <ul>
+ *     <li>{@link #HEADED} - visible, maximized, incognito/private window; meant for debugging.</li>
+ *     <li>{@link #HEADLESS} - new headless mode with extensions, GPU, background networking and first-run steps disabled.</li>
+ *     <li>{@link #WARM} - {@link #HEADLESS} started from a per-session copy of a pre-warmed profile directory
+ *     (see {@link ProfileDirectories}).</li>
+ * </ul>
+ */
+public enum LaunchProfile {
+    HEADED,
+    HEADLESS,
+    WARM;
+
+    private static final Logger logger = LoggerFactory.getLogger(LaunchProfile.class);
+
+    private static final String HEADLESS_WINDOW_SIZE = "--window-size=1920,1080";
+
+    public static LaunchProfile resolve(String override) {
+        String value = override != null && !override.isBlank() ? override : ConfigManager.getProperty("driver.launchProfile");
+        if (value == null || value.isBlank()) {
+            return HEADED;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.error("Unknown launch profile: {}", value, e);
+            throw new IllegalArgumentException("Unknown launch profile: " + value, e);
+        }
+    }
+
+    public boolean isHeadless() {
+        return this != HEADED;
+    }
+
+    public <T extends ChromiumOptions<?>> T configure(T options) {
+        if (isHeadless()) {
+            options.addArguments(
+                    "--headless=new",
+                    HEADLESS_WINDOW_SIZE,
+                    "--disable-extensions",
+                    "--disable-gpu",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--disable-sync",
+                    "--no-first-run",
+                    "--no-default-browser-check");
+        }
+        return options;
+    }
+
+    public FirefoxOptions configure(FirefoxOptions options) {
+        if (isHeadless()) {
+            options.addArguments("-headless", "-width=1920", "-height=1080")
+                    .addPreference("extensions.update.enabled", false)
+                    .addPreference("app.update.auto", false)
+                    .addPreference("browser.shell.checkDefaultBrowser", false)
+                    .addPreference("browser.startup.homepage_override.mstone", "ignore")
+                    .addPreference("datareporting.policy.dataSubmissionEnabled", false)
+                    .addPreference("network.prefetch-next", false)
+                    .addPreference("network.dns.disablePrefetch", true);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,121 @@
+package utils;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks in-flight requests of a Chromium session through the DevTools {@code Network}
+ * domain, so callers can wait until the page has had no network activity for a quiet window.
+ * Raw CDP method names are used so the tracker does not depend on a versioned devtools module.
+ */
+public final class NetworkIdleTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkIdleTracker.class);
+    private static final Map<WebDriver, NetworkIdleTracker> trackers = new ConcurrentHashMap<>();
+    private static final Set<String> CHROMIUM_BROWSERS = Set.of("chrome", "MicrosoftEdge", "msedge");
+    private static final Set<String> IGNORED_RESOURCE_TYPES = Set.of("EventSource", "WebSocket");
+
+    private static final Command<Void> NETWORK_ENABLE = new Command<>("Network.enable", Map.of());
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT = networkEvent("Network.requestWillBeSent");
+    private static final Event<Map<String, Object>> LOADING_FINISHED = networkEvent("Network.loadingFinished");
+    private static final Event<Map<String, Object>> LOADING_FAILED = networkEvent("Network.loadingFailed");
+
+    private final Set<String> inFlightRequests = new HashSet<>();
+    private long lastActivityNanos = System.nanoTime();
+
+    private NetworkIdleTracker() {
+    }
+
+    public static boolean supports(WebDriver driver) {
+        if (!(driver instanceof HasDevTools) || !(driver instanceof HasCapabilities hasCapabilities)) {
+            return false;
+        }
+        Capabilities capabilities = hasCapabilities.getCapabilities();
+        return CHROMIUM_BROWSERS.contains(capabilities.getBrowserName());
+    }
+
+    /**
+     * Returns the tracker for the driver, enabling the Network domain on first use,
+     * or {@code null} when the browser has no DevTools support.
+     */
+    public static NetworkIdleTracker forDriver(WebDriver driver) {
+        if (!supports(driver)) {
+            return null;
+        }
+        return trackers.computeIfAbsent(driver, NetworkIdleTracker::attach);
+    }
+
+    public static void release(WebDriver driver) {
+        trackers.remove(driver);
+    }
+
+    private static NetworkIdleTracker attach(WebDriver driver) {
+        logger.info("Attaching network idle tracker through DevTools.");
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        NetworkIdleTracker tracker = new NetworkIdleTracker();
+        devTools.addListener(REQUEST_WILL_BE_SENT, tracker::onRequestStarted);
+        devTools.addListener(LOADING_FINISHED, tracker::onRequestCompleted);
+        devTools.addListener(LOADING_FAILED, tracker::onRequestCompleted);
+        devTools.send(NETWORK_ENABLE);
+        return tracker;
+    }
+
+    /**
+     * Blocks until no request has been in flight for {@code quietWindow}.
+     *
+     * @return {@code false} when the timeout elapsed first
+     */
+    public synchronized boolean awaitIdle(Duration quietWindow, Duration timeout) throws InterruptedException {
+        long quietNanos = quietWindow.toNanos();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long now = System.nanoTime();
+            long quietFor = now - lastActivityNanos;
+            if (inFlightRequests.isEmpty() && quietFor >= quietNanos) {
+                return true;
+            }
+            if (now >= deadline) {
+                logger.warn("Network did not become idle in {} ms. In-flight requests: {}", timeout.toMillis(), inFlightRequests.size());
+                return false;
+            }
+            long waitNanos = inFlightRequests.isEmpty() ? quietNanos - quietFor : deadline - now;
+            TimeUnit.NANOSECONDS.timedWait(this, Math.min(waitNanos, deadline - now));
+        }
+    }
+
+    private synchronized void onRequestStarted(Map<String, Object> params) {
+        if (IGNORED_RESOURCE_TYPES.contains(String.valueOf(params.get("type")))) {
+            return;
+        }
+        inFlightRequests.add(String.valueOf(params.get("requestId")));
+        lastActivityNanos = System.nanoTime();
+        notifyAll();
+    }
+
+    private synchronized void onRequestCompleted(Map<String, Object> params) {
+        if (inFlightRequests.remove(String.valueOf(params.get("requestId")))) {
+            lastActivityNanos = System.nanoTime();
+            notifyAll();
+        }
+    }
+
+    private static Event<Map<String, Object>> networkEvent(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+}
@@ -0,0 +1,133 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Pre-warmed browser profiles for {@link LaunchProfile#WARM}. A template directory is built once per
+ * browser family (first-run steps done, HTTP cache filled by visiting {@code login.url}) and every
+ * session starts from its own copy, reflinked where the filesystem supports it.
+ */
+public final class ProfileDirectories {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileDirectories.class);
+
+    private static final String WARMED_MARKER = ".warmed";
+    private static final List<String> LOCK_FILES = List.of("SingletonLock", "SingletonSocket", "SingletonCookie", "parent.lock", "lock");
+    private static final boolean LINUX = System.getProperty("os.name").toLowerCase().contains("linux");
+
+    private static final Path root = Paths.get(rootDirectory());
+    private static final Map<String, Object> templateLocks = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Path> sessionDirectory = new ThreadLocal<>();
+
+    private ProfileDirectories() {
+    }
+
+    /**
+     * Returns a fresh copy of the warmed template for {@code family}, building the template
+     * first with {@code warmUp} if it does not exist yet. The copy is removed by {@link #release()}.
+     */
+    public static Path sessionCopy(String family, Consumer<Path> warmUp) {
+        Path template = template(family, warmUp);
+        try {
+            Files.createDirectories(root);
+            Path copy = Files.createTempDirectory(root, family.toLowerCase() + "-session-");
+            copyTree(template, copy);
+            for (String lockFile : LOCK_FILES) {
+                Files.deleteIfExists(copy.resolve(lockFile));
+            }
+            sessionDirectory.set(copy);
+            logger.info("Created session profile: {} from template: {}", copy, template);
+            return copy;
+        } catch (IOException e) {
+            logger.error("Failed to copy warm profile template: {}", template, e);
+            throw new UncheckedIOException("Error copying warm profile template: " + template, e);
+        }
+    }
+
+    public static void release() {
+        Path copy = sessionDirectory.get();
+        if (copy == null) {
+            return;
+        }
+        sessionDirectory.remove();
+        try (Stream<Path> paths = Files.walk(copy)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            logger.info("Removed session profile: {}", copy);
+        } catch (IOException e) {
+            logger.warn("Failed to remove session profile: {}", copy, e);
+        }
+    }
+
+    private static Path template(String family, Consumer<Path> warmUp) {
+        Path template = root.resolve(family.toLowerCase() + "-template");
+        synchronized (templateLocks.computeIfAbsent(family, key -> new Object())) {
+            if (Files.exists(template.resolve(WARMED_MARKER))) {
+                return template;
+            }
+            logger.info("Building warm profile template for {} at: {}", family, template);
+            try {
+                Files.createDirectories(template);
+                warmUp.accept(template);
+                Files.createFile(template.resolve(WARMED_MARKER));
+            } catch (IOException e) {
+                logger.error("Failed to build warm profile template: {}", template, e);
+                throw new UncheckedIOException("Error building warm profile template: " + template, e);
+            }
+            return template;
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        if (LINUX && reflinkCopy(source, target)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else if (!Files.isSymbolicLink(path)) {
+                    Files.copy(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static boolean reflinkCopy(Path source, Path target) {
+        try {
+            Process process = new ProcessBuilder("cp", "-R", "--reflink=auto", source + "/.", target.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(process.getInputStream().readAllBytes());
+            if (process.waitFor() == 0) {
+                return true;
+            }
+            logger.warn("cp --reflink=auto failed, falling back to a plain copy: {}", output.trim());
+        } catch (IOException e) {
+            logger.warn("cp --reflink=auto is not available, falling back to a plain copy.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while copying warm profile template: " + source, e);
+        }
+        return false;
+    }
+
+    private static String rootDirectory() {
+        String value = ConfigManager.getProperty("driver.profileDirectory");
+        return value == null || value.isBlank() ? "target/browser-profiles" : value;
+    }
+}
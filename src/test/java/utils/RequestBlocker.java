@@ -0,0 +1,95 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks requests the assertions never look at (images, fonts, third-party scripts).
+ * Chromium sessions use DevTools: {@code Network.setBlockedURLs} for URL patterns and
+ * {@code Fetch} interception for resource types. Firefox has no DevTools request blocking,
+ * so image and font loading are switched off through preferences instead.
+ * <p>
+ * Off by default: list browsers in {@code requestBlocking.browsers} or set the
+ * {@code BlockRequests} column to turn it on, keeping in mind that page-load budgets measured
+ * without images and fonts are not comparable.
+ */
+public final class RequestBlocker {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestBlocker.class);
+
+    private static final List<String> enabledBrowsers = configList("requestBlocking.browsers");
+    private static final List<String> urlPatterns = configList("requestBlocking.urlPatterns");
+    private static final List<String> resourceTypes = configList("requestBlocking.resourceTypes");
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+
+    private RequestBlocker() {
+    }
+
+    /**
+     * @param override value of the {@code BlockRequests} column of the Setup Driver table;
+     *                 empty to use {@code requestBlocking.browsers} from config.properties
+     */
+    public static boolean isEnabled(DriverManager.Browser browser, String override) {
+        if (override != null && !override.isBlank()) {
+            return Boolean.parseBoolean(override.trim());
+        }
+        return enabledBrowsers.contains(browser.name());
+    }
+
+    public static FirefoxOptions configure(FirefoxOptions options) {
+        logger.info("Blocking images and document fonts through Firefox preferences.");
+        if (!urlPatterns.isEmpty()) {
+            logger.warn("URL pattern blocking is not supported on Firefox. Ignoring patterns: {}", urlPatterns);
+        }
+        return options.addPreference("permissions.default.image", 2)
+                .addPreference("browser.display.use_document_fonts", 0);
+    }
+
+    public static void apply(WebDriver driver, DriverManager.Browser browser) {
+        if (!NetworkIdleTracker.supports(driver)) {
+            if (!browser.name().contains("FIREFOX")) {
+                logger.warn("Request blocking is not supported for browser: {}", browser);
+            }
+            return;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        if (!urlPatterns.isEmpty()) {
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            devTools.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", urlPatterns)));
+            logger.info("Blocking URL patterns: {}", urlPatterns);
+        }
+
+        if (!resourceTypes.isEmpty()) {
+            devTools.addListener(REQUEST_PAUSED, request -> devTools.send(new Command<Void>("Fetch.failRequest",
+                    Map.of("requestId", request.get("requestId"), "errorReason", "BlockedByClient"))));
+            List<Map<String, Object>> patterns = resourceTypes.stream()
+                    .map(type -> Map.<String, Object>of("resourceType", type, "requestStage", "Request"))
+                    .toList();
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            logger.info("Blocking resource types: {}", resourceTypes);
+        }
+    }
+
+    private static List<String> configList(String key) {
+        String value = ConfigManager.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+}
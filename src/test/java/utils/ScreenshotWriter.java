@@ -0,0 +1,137 @@
+package utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes screenshots to disk on a single background thread so step threads never
+ * wait on image encoding or file I/O. The queue is bounded; when it is full the
+ * screenshot is dropped rather than blocking the caller. Pending writes are flushed
+ * by a shutdown hook.
+ */
+public final class ScreenshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+    private static final Path SCREENSHOT_DIR = Paths.get("screenshots");
+    private static final int QUEUE_CAPACITY = 64;
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final String format = valueOrDefault("screenshot.format", "png").toLowerCase();
+    private static final double scale = Double.parseDouble(valueOrDefault("screenshot.scale", "1.0"));
+    private static final float quality = Float.parseFloat(valueOrDefault("screenshot.quality", "0.8"));
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotWriter::flush, "screenshot-writer-flush"));
+    }
+
+    private ScreenshotWriter() {
+    }
+
+    public static void submit(byte[] pngBytes, String baseName) {
+        try {
+            executor.execute(() -> write(pngBytes, baseName));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Screenshot queue is full or closed, dropping screenshot: {}", baseName);
+        }
+    }
+
+    public static void flush() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Timed out flushing screenshots. {} screenshot(s) were not written.", executor.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while flushing screenshots.", e);
+        }
+    }
+
+    private static void write(byte[] pngBytes, String baseName) {
+        Path target = SCREENSHOT_DIR.resolve(baseName + "." + format);
+        try {
+            Files.createDirectories(SCREENSHOT_DIR);
+            if ("png".equals(format) && scale == 1.0) {
+                Files.write(target, pngBytes);
+            } else {
+                writeTranscoded(pngBytes, target);
+            }
+            logger.debug("Screenshot saved to: {}", target);
+        } catch (IOException e) {
+            logger.error("Failed to save screenshot to: {}", target, e);
+        }
+    }
+
+    private static void writeTranscoded(byte[] pngBytes, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer available for screenshot format: " + format);
+        }
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(pngBytes));
+        if (source == null) {
+            throw new IOException("Screenshot bytes are not a readable image.");
+        }
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        int imageType = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, imageType);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = writers.next();
+        // FileImageOutputStream does not truncate, so a longer earlier file would leave trailing bytes.
+        Files.deleteIfExists(target);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String valueOrDefault(String key, String defaultValue) {
+        String value = ConfigManager.getProperty(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the browser state of a logged-in user (cookies, localStorage and sessionStorage)
+ * so later scenarios can restore it into a fresh session instead of logging in through the UI.
+ * Snapshots are shared by all scenario threads and keyed by the {@code user.<key>} entry.
+ */
+public final class SessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private static final String CAPTURE_STORAGE_SCRIPT = """
+            const dump = (storage) => {
+                const result = {};
+                for (let i = 0; i < storage.length; i++) {
+                    const key = storage.key(i);
+                    result[key] = storage.getItem(key);
+                }
+                return result;
+            };
+            return [dump(window.localStorage), dump(window.sessionStorage)];
+            """;
+
+    private static final String RESTORE_STORAGE_SCRIPT = """
+            const [local, session] = arguments;
+            window.localStorage.clear();
+            window.sessionStorage.clear();
+            Object.entries(local).forEach(([key, value]) => window.localStorage.setItem(key, value));
+            Object.entries(session).forEach(([key, value]) => window.sessionStorage.setItem(key, value));
+            """;
+
+    private static final String CLEAR_STORAGE_SCRIPT = "window.localStorage.clear(); window.sessionStorage.clear();";
+
+    private SessionCache() {
+    }
+
+    public static Snapshot get(String userKey) {
+        return snapshots.get(userKey);
+    }
+
+    public static void invalidate(String userKey) {
+        if (snapshots.remove(userKey) != null) {
+            logger.info("Session snapshot invalidated for user: {}", userKey);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String userKey) {
+        List<Map<String, String>> storages = (List<Map<String, String>>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        Snapshot snapshot = new Snapshot(driver.getCurrentUrl(), Set.copyOf(driver.manage().getCookies()),
+                Map.copyOf(storages.get(0)), Map.copyOf(storages.get(1)));
+        snapshots.put(userKey, snapshot);
+        logger.info("Session snapshot captured for user: {} ({} cookie(s), {} localStorage and {} sessionStorage item(s))",
+                userKey, snapshot.cookies().size(), snapshot.localStorage().size(), snapshot.sessionStorage().size());
+    }
+
+    /**
+     * Applies the snapshot to the current origin. The driver must already be on a page of the
+     * application so cookies and storage are written for the right domain.
+     */
+    public static void restore(WebDriver driver, Snapshot snapshot) {
+        WebDriver.Options options = driver.manage();
+        options.deleteAllCookies();
+        for (Cookie cookie : snapshot.cookies()) {
+            options.addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT, snapshot.localStorage(), snapshot.sessionStorage());
+        logger.info("Session snapshot restored. Target URL: {}", snapshot.url());
+    }
+
+    public static void clear(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+    }
+
+    public record Snapshot(String url, Set<Cookie> cookies, Map<String, String> localStorage,
+                           Map<String, String> sessionStorage) {
+    }
+}
@@ -11,28 +11,36 @@ Feature: ATM Scenarios
   Scenario: Login to the system
     Then User logs out
 
-  @web @addMoney
+  @web @addMoney @balance
   Scenario: Add money to account
     And User adds money using card "default" with amount "100"
     Then User logs out
 
-  @web @invalidCard
+  @web @invalidCard @balance
   Scenario: Add money to account with invalid card
     And User adds money using card "invalidCard" with amount "100"
     Then User logs out
 
-  @web @transfer
+  @web @transfer @balance
   Scenario: Transfer money between accounts
     And User transfers "50" from "Main Account->Testinium-2"
     Then User logs out
 
-  @web @completeFlow
+  @web @completeFlow @balance
   Scenario: Complete flow with all actions
     And User adds money using card "default" with amount "100"
     And User transfers "50" from "Main Account->Testinium-2"
     Then User logs out
 
-  @web @negativeBalance
+  @web @negativeBalance @balance
   Scenario: Negative balance control
     And User transfers "balance" from "Main Account->Testinium-2"
     Then User logs out
+
+  @web @performance
+  Scenario: Performance budgets of the initial page load and the add money transition
+    Then initial page LCP is below 2500 ms
+    And initial page CLS is below 0.1
+    When Click on "ADD_MONEY_BUTTON" in page "AddMoneyPage"
+    Then page "AddMoneyPage" loads within 1500 ms
+    Then User logs out
@@ -11,28 +11,28 @@ Feature: ATM MWEB Scenarios
   Scenario: Login to the system
     Then User logs out
 
-  @mweb @addMoney
+  @mweb @addMoney @balance
   Scenario: Add money to account
     And User adds money using card "default" with amount "100"
     Then User logs out
 
-  @mweb @invalidCard
+  @mweb @invalidCard @balance
   Scenario: Add money to account with invalid card
     And User adds money using card "invalidCard" with amount "100"
     Then User logs out
 
-  @mweb @transfer
+  @mweb @transfer @balance
   Scenario: Transfer money between accounts
     And User transfers "50" from "Main Account->Testinium-2"
     Then User logs out
 
-  @mweb @completeFlow
+  @mweb @completeFlow @balance
   Scenario: Complete flow with all actions
     And User adds money using card "default" with amount "100"
     And User transfers "50" from "Main Account->Testinium-2"
     Then User logs out
 
-  @mweb @negativeBalance
+  @mweb @negativeBalance @balance
   Scenario: Negative balance control
     And User transfers "balance" from "Main Account->Testinium-2"
     Then User logs out